@@ -0,0 +1,60 @@
+package com.classHub.classHub.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * {@link #offer} never blocks: when the ring is full the element is rejected.
+ */
+class AuditRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.capacity = size;
+        this.mask = size - 1;
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head >= capacity) return false;
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.set((int) (claimed & mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} published elements into {@code out}. Only the writer thread may call this.
+     */
+    int drainTo(List<E> out, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            E element = slots.get(index);
+            // Claimed but not yet published: pick it up on the next pass
+            if (element == null) break;
+            slots.set(index, null);
+            out.add(element);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+}
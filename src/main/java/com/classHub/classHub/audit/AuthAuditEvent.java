@@ -0,0 +1,47 @@
+package com.classHub.classHub.audit;
+
+import java.time.Instant;
+
+/**
+ * One authentication event. The type deliberately has no field for passwords, hashes or
+ * tokens, so secrets cannot end up in the audit file.
+ */
+public record AuthAuditEvent(Instant time, String type, String outcome, String email, String clientIp, String reason) {
+
+    public static AuthAuditEvent of(String type, String outcome, String email, String clientIp, String reason) {
+        return new AuthAuditEvent(Instant.now(), type, outcome, email == null ? null : email.trim().toLowerCase(), clientIp, reason);
+    }
+
+    String toJson() {
+        StringBuilder json = new StringBuilder(160);
+        json.append('{');
+        field(json, "time", time.toString()).append(',');
+        field(json, "type", type).append(',');
+        field(json, "outcome", outcome).append(',');
+        field(json, "email", email).append(',');
+        field(json, "ip", clientIp).append(',');
+        field(json, "reason", reason);
+        return json.append('}').toString();
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, String value) {
+        json.append('"').append(name).append("\":");
+        if (value == null) return json.append("null");
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+                }
+            }
+        }
+        return json.append('"');
+    }
+}
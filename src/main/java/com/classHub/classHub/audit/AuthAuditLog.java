@@ -0,0 +1,137 @@
+package com.classHub.classHub.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous audit trail for authentication events. Request threads only publish into a
+ * lock-free ring; a background writer appends JSON lines in batches to a size-rotated file.
+ */
+@Component
+public class AuthAuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthAuditLog.class);
+
+    private static final int BATCH_SIZE = 256;
+
+    @Value("${audit.auth.file:logs/auth-audit.log}")
+    private String file;
+
+    @Value("${audit.auth.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${audit.auth.max-file-bytes:10485760}")
+    private long maxFileBytes;
+
+    // Total files kept, the live one included
+    @Value("${audit.auth.max-files:5}")
+    private int maxFiles;
+
+    private AuditRingBuffer<AuthAuditEvent> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running;
+    private Thread writerThread;
+    private Path path;
+    private OutputStream out;
+    private long fileBytes;
+
+    @PostConstruct
+    void start() throws IOException {
+        buffer = new AuditRingBuffer<>(bufferSize);
+        path = Paths.get(file);
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        openWriter();
+        running = true;
+        writerThread = new Thread(this::writeLoop, "auth-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Publishes an event without blocking. If the writer has fallen behind and the ring is
+     * full, the event is counted as dropped rather than stalling the request.
+     */
+    public void record(AuthAuditEvent event) {
+        if (!buffer.offer(event)) dropped.increment();
+    }
+
+    private void writeLoop() {
+        List<AuthAuditEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !buffer.isEmpty()) {
+            batch.clear();
+            if (buffer.drainTo(batch, BATCH_SIZE) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+                continue;
+            }
+            try {
+                long lost = dropped.sumThenReset();
+                if (lost > 0) append(AuthAuditEvent.of("AUDIT", "DROPPED", null, null, lost + " events dropped").toJson());
+                for (AuthAuditEvent event : batch) append(event.toJson());
+                out.flush();
+                if (fileBytes >= maxFileBytes) rotate();
+            } catch (IOException e) {
+                log.error("Failed to write auth audit log {}", path, e);
+            }
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Failed to close auth audit log {}", path, e);
+        }
+    }
+
+    private void append(String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes);
+        out.write('\n');
+        fileBytes += bytes.length + 1;
+    }
+
+    /** Shifts file.1 .. file.(maxFiles - 2) up by one, dropping the oldest, so at most maxFiles remain. */
+    private void rotate() throws IOException {
+        out.close();
+        if (maxFiles <= 1) {
+            Files.delete(path);
+        } else {
+            Files.deleteIfExists(Paths.get(file + "." + (maxFiles - 1)));
+            for (int i = maxFiles - 2; i >= 1; i--) {
+                Path older = Paths.get(file + "." + i);
+                if (Files.exists(older)) Files.move(older, Paths.get(file + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(path, Paths.get(file + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        openWriter();
+    }
+
+    private void openWriter() throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        fileBytes = Files.size(path);
+    }
+}
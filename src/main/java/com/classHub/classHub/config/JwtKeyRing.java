@@ -0,0 +1,103 @@
+package com.classHub.classHub.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Signing keys by key id ({@code kid}). New tokens are signed with the active key; any
+ * configured key still verifies, so rotating the active key never forces a re-login.
+ * Every key gets its parser built once up front.
+ *
+ * <p>Keys come from {@code jwt.keys} ({@code kid:secret,kid:secret}) and, optionally, a
+ * properties file named by {@code jwt.keystore-file} with one {@code kid=secret} per line.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final ObjectMapper HEADER_MAPPER = new ObjectMapper();
+
+    private final Map<String, Key> keys;
+    private final Map<String, JwtParser> parsers;
+    private final String activeKid;
+    private final String legacyKid;
+
+    public JwtKeyRing(@Value("${jwt.keys:}") String configuredKeys,
+                      @Value("${jwt.keystore-file:}") String keystoreFile,
+                      @Value("${jwt.active-kid:default}") String activeKid,
+                      @Value("${jwt.legacy-kid:default}") String legacyKid) throws IOException {
+        Map<String, String> secrets = new HashMap<>();
+        for (String entry : configuredKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) secrets.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        if (!keystoreFile.isBlank()) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(Paths.get(keystoreFile))) {
+                properties.load(in);
+            }
+            properties.stringPropertyNames().forEach(kid -> secrets.put(kid, properties.getProperty(kid).trim()));
+        }
+        if (!secrets.containsKey(activeKid)) throw new IllegalStateException("No JWT key configured for active kid '" + activeKid + "'");
+
+        Map<String, Key> keys = new HashMap<>();
+        Map<String, JwtParser> parsers = new HashMap<>();
+        secrets.forEach((kid, secret) -> {
+            Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            keys.put(kid, key);
+            parsers.put(kid, Jwts.parserBuilder().setSigningKey(key).build());
+        });
+        this.keys = Collections.unmodifiableMap(keys);
+        this.parsers = Collections.unmodifiableMap(parsers);
+        this.activeKid = activeKid;
+        this.legacyKid = legacyKid;
+    }
+
+    public String activeKid() {
+        return activeKid;
+    }
+
+    public Key signingKey() {
+        return keys.get(activeKid);
+    }
+
+    /**
+     * Picks the prebuilt parser for the token's {@code kid}. Tokens issued before key ids
+     * were introduced have none and fall back to the legacy key.
+     */
+    public JwtParser parserFor(String token) {
+        String kid = readKid(token);
+        JwtParser parser = parsers.get(kid == null ? legacyKid : kid);
+        if (parser == null) throw new MalformedJwtException("Unknown signing key id: " + kid);
+        return parser;
+    }
+
+    private static String readKid(String token) {
+        int end = token.indexOf('.');
+        if (end <= 0) throw new MalformedJwtException("JWT has no header");
+        try {
+            JsonNode header = HEADER_MAPPER.readTree(Base64.getUrlDecoder().decode(token.substring(0, end)));
+            JsonNode kid = header.get("kid");
+            return kid == null ? null : kid.asText();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MalformedJwtException("Unreadable JWT header", e);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.classHub.classHub.config;
 
+import com.classHub.classHub.entity.AuthenticatedUser;
+import com.classHub.classHub.entity.Role;
 import com.classHub.classHub.service.MyUserDetailsService;
+import com.classHub.classHub.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,23 +28,34 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Value("${auth.stateless.enabled:true}")
+    private boolean statelessAuth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+            claims = jwtUtil.verifyToken(authorizationHeader.substring(7));
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && tokenRevocationService.isRevoked(claims)) {
+            claims = null;
+        }
+
+        if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(claims);
 
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+            if (userDetails != null && jwtUtil.validateClaims(claims, userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -48,4 +64,14 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    private UserDetails resolvePrincipal(Claims claims) {
+        Long userId = jwtUtil.extractUserId(claims);
+        if (!statelessAuth || userId == null) {
+            // Older tokens carry no user id and still go through the database
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        if (!tokenVersionRegistry.isCurrent(userId, jwtUtil.extractTokenVersion(claims))) return null;
+        return new AuthenticatedUser(userId, claims.getSubject(), Role.valueOf(claims.get("role", String.class)));
+    }
+}
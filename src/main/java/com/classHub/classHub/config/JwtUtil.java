@@ -1,36 +1,46 @@
 package com.classHub.classHub.config;
 
+import com.classHub.classHub.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
-    private static final String SECRET_KEY = "classhub_secret_key_for_jwt_token_generation_and_validation";
-    private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    public static final long TOKEN_VALIDITY_MS = 1000 * 60 * 60 * 10;
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifyToken(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token signature once and returns its claims. Tokens that were already
+     * verified and have not expired are served from the cache without signature work.
+     */
+    public Claims verifyToken(String token) {
+        Claims claims = verifiedTokenCache.get(token);
+        if (claims != null) return claims;
+        claims = keyRing.parserFor(token).parseClaimsJws(token).getBody();
+        verifiedTokenCache.put(token, claims);
+        return claims;
     }
 
     public String generateToken(String username, String role) {
@@ -39,22 +49,58 @@ public class JwtUtil {
         return createToken(claims, username);
     }
 
+    /**
+     * Issues a token that also carries the user id and token version, which lets the
+     * request filter authenticate from the claims alone.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", user.getRole().name());
+        claims.put("uid", user.getId());
+        claims.put("ver", user.getTokenVersion() == null ? 0 : user.getTokenVersion());
+        return createToken(claims, user.getEmail());
+    }
+
+    public Long extractUserId(Claims claims) {
+        Number uid = claims.get("uid", Number.class);
+        return uid == null ? null : uid.longValue();
+    }
+
+    /** Issue time in milliseconds; tokens without the claim count from the start of their iat second. */
+    public long extractIssuedAtMillis(Claims claims) {
+        Number issuedAtMs = claims.get("iat_ms", Number.class);
+        return issuedAtMs != null ? issuedAtMs.longValue() : claims.getIssuedAt().getTime();
+    }
+
+    public int extractTokenVersion(Claims claims) {
+        Number ver = claims.get("ver", Number.class);
+        return ver == null ? 0 : ver.intValue();
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
+        // iat only has second precision; revocation cutoffs need the exact instant
+        claims.put("iat_ms", now);
         return Jwts.builder()
+            .setHeaderParam("kid", keyRing.activeKid())
             .setClaims(claims)
+            .setId(UUID.randomUUID().toString())
             .setSubject(subject)
-            .setIssuedAt(new Date(System.currentTimeMillis()))
-            .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-            .signWith(key, SignatureAlgorithm.HS256)
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + TOKEN_VALIDITY_MS))
+            .signWith(keyRing.signingKey(), SignatureAlgorithm.HS256)
             .compact();
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        return validateClaims(verifyToken(token), username);
+    }
+
+    public boolean validateClaims(Claims claims, String username) {
+        return claims.getSubject().equals(username) && !isTokenExpired(claims);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
-} 
\ No newline at end of file
+}
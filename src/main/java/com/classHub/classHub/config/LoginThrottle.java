@@ -0,0 +1,64 @@
+package com.classHub.classHub.config;
+
+import com.classHub.classHub.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-IP and per-account limits for the unauthenticated auth endpoints, so scripted
+ * attempts cannot spend the BCrypt capacity that real logins need.
+ */
+@Component
+public class LoginThrottle {
+
+    // Well above the per-account limits: a whole school can share one NAT address
+    @Value("${security.throttle.ip.per-minute:600}")
+    private int ipPerMinute;
+
+    @Value("${security.throttle.ip.burst:200}")
+    private int ipBurst;
+
+    @Value("${security.throttle.account.per-minute:10}")
+    private int accountPerMinute;
+
+    @Value("${security.throttle.account.burst:5}")
+    private int accountBurst;
+
+    @Value("${security.throttle.max-keys:100000}")
+    private int maxKeys;
+
+    private TokenBucketLimiter ipLimiter;
+    private TokenBucketLimiter accountLimiter;
+
+    @PostConstruct
+    void init() {
+        ipLimiter = new TokenBucketLimiter(ipPerMinute, ipBurst, maxKeys);
+        accountLimiter = new TokenBucketLimiter(accountPerMinute, accountBurst, maxKeys);
+    }
+
+    public void checkClient(String clientIp) {
+        check(ipLimiter, clientIp, "Too many requests from this address. Please try again later.");
+    }
+
+    public void checkAccount(String email) {
+        if (email == null) return;
+        check(accountLimiter, email.trim().toLowerCase(), "Too many login attempts for this account. Please try again later.");
+    }
+
+    @Scheduled(fixedDelayString = "${security.throttle.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        ipLimiter.evictIdle();
+        accountLimiter.evictIdle();
+    }
+
+    private static void check(TokenBucketLimiter limiter, String key, String message) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(message, (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.classHub.classHub.config;
+
+import com.classHub.classHub.exception.TooManyRequestsException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-IP limit to login and registration before the request body is even read.
+ * The per-account limit needs the email and is applied in AuthController. The remote address
+ * is the client's once server.forward-headers-strategy has resolved it through trusted proxies.
+ */
+@Component
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !"POST".equals(request.getMethod()) || !(path.equals("/auth/login") || path.equals("/auth/register"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            loginThrottle.checkClient(request.getRemoteAddr());
+        } catch (TooManyRequestsException e) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"" + e.getMessage() + "\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
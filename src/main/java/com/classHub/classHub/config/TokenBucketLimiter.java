@@ -0,0 +1,68 @@
+package com.classHub.classHub.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyed token-bucket limiter implemented as GCRA: each key keeps only its theoretical
+ * arrival time in an {@link AtomicLong}, so acquiring is a lock-free CAS. Buckets that
+ * have fully refilled carry no state and are removed by {@link #evictIdle()}; no other
+ * bucket is ever dropped, since that would hand its key a fresh burst. When
+ * {@code maxKeys} keys are tracked, new keys are rejected until idle buckets can be swept,
+ * and that sweep runs at most once per second however many keys are turned away.
+ */
+public class TokenBucketLimiter {
+
+    private static final long SWEEP_SPACING_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_SPACING_NANOS);
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final int maxKeys;
+
+    public TokenBucketLimiter(int permitsPerMinute, int burst, int maxKeys) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+        this.capacityNanos = intervalNanos * Math.max(1, burst);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one permit for the key. Returns 0 when allowed, otherwise the nanoseconds
+     * until the next permit becomes available.
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys && !makeRoom(now)) return intervalNanos;
+            AtomicLong created = new AtomicLong(now);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) bucket = created;
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            long excess = next - now - capacityNanos;
+            if (excess > 0) return excess;
+            if (bucket.compareAndSet(arrival, next)) return 0;
+        }
+    }
+
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    private boolean makeRoom(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_SPACING_NANOS && lastSweep.compareAndSet(last, now)) evictIdle();
+        return buckets.size() < maxKeys;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
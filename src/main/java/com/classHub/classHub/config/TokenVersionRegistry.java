@@ -0,0 +1,48 @@
+package com.classHub.classHub.config;
+
+import com.classHub.classHub.repo.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of each user's current token version. A token is only accepted while the
+ * version it was issued with matches, so bumping the version invalidates older tokens.
+ * Only the node that made the change updates its entry; other nodes learn about it through
+ * the revocation cutoff written alongside, and re-read the version when a newer token shows up.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        if (current == null) {
+            // Unknown users are loaded once; deleted users never resolve and stay rejected
+            current = userRepository.findTokenVersionById(userId).orElse(null);
+            if (current == null) return false;
+            versions.putIfAbsent(userId, current);
+        }
+        if (tokenVersion > current) {
+            // Versions only grow: the token was issued after a change made on another node
+            current = userRepository.findTokenVersionById(userId).orElse(null);
+            if (current == null) return false;
+            versions.put(userId, current);
+        }
+        return current == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        versions.put(userId, tokenVersion);
+    }
+
+    public void evict(Long userId) {
+        versions.remove(userId);
+    }
+}
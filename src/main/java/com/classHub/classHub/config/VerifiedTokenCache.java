@@ -0,0 +1,77 @@
+package com.classHub.classHub.config;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified.
+ * Entries are keyed by a SHA-256 digest of the token and dropped once the token expires;
+ * when full, the least recently used entry makes room, so every operation stays O(1).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // Access-ordered; guarded by its own monitor
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @Value("${jwt.verified-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public Claims get(String token) {
+        String digest = digest(token);
+        synchronized (entries) {
+            Entry entry = entries.get(digest);
+            if (entry == null) return null;
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(digest);
+                return null;
+            }
+            return entry.claims;
+        }
+    }
+
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) return;
+        String digest = digest(token);
+        synchronized (entries) {
+            entries.put(digest, new Entry(claims, claims.getExpiration().getTime()));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
@@ -3,14 +3,27 @@ package com.classHub.classHub.controller;
 import com.classHub.classHub.entity.Announcement;
 import com.classHub.classHub.entity.Group;
 import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.AuthorSummary;
+import com.classHub.classHub.pojoResponse.CommentPreview;
+import com.classHub.classHub.pojoResponse.CursorPage;
+import com.classHub.classHub.pojoResponse.TimelineItem;
 import com.classHub.classHub.service.AnnouncementService;
+import com.classHub.classHub.service.CommentService;
+import com.classHub.classHub.service.GroupMembershipIndex;
 import com.classHub.classHub.service.GroupService;
 import com.classHub.classHub.service.UserService;
+import com.classHub.classHub.service.ActivityCounters;
+import com.classHub.classHub.service.AuthorSummaryCache;
+import com.classHub.classHub.service.TimelineService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
@@ -27,6 +40,23 @@ public class AnnouncementController {
     private GroupService groupService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private AuthorSummaryCache authorSummaryCache;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Value("${announcement.max-comment-previews:10}")
+    private int maxCommentPreviews;
 
     @PostMapping("/teacher/create")
     public ResponseEntity<Map<String, Object>> createAnnouncement(
@@ -34,18 +64,15 @@ public class AnnouncementController {
             @RequestParam String content) {
         User teacher = userService.getCurrentUser();
         Group group = groupService.getGroupById(groupId);
+        groupMembershipIndex.checkTeacher(groupId, teacher.getId());
         Announcement announcement = announcementService.createAnnouncement(content, group, teacher);
         
         Map<String, Object> response = new HashMap<>();
         response.put("id", announcement.getId());
         response.put("content", announcement.getContent());
+        response.put("commentCount", activityCounters.commentCount(announcement));
         response.put("createdAt", announcement.getCreatedAt());
-        response.put("user", Map.of(
-            "id", teacher.getId(),
-            "firstName", teacher.getFirstName(),
-            "lastName", teacher.getLastName(),
-            "role", teacher.getRole().toString()
-        ));
+        response.put("user", authorSummaryCache.asMap(teacher.getId()));
         
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -60,13 +87,9 @@ public class AnnouncementController {
         Map<String, Object> response = new HashMap<>();
         response.put("id", announcement.getId());
         response.put("content", announcement.getContent());
+        response.put("commentCount", activityCounters.commentCount(announcement));
         response.put("createdAt", announcement.getCreatedAt());
-        response.put("user", Map.of(
-            "id", teacher.getId(),
-            "firstName", teacher.getFirstName(),
-            "lastName", teacher.getLastName(),
-            "role", teacher.getRole().toString()
-        ));
+        response.put("user", authorSummaryCache.asMap(teacher.getId()));
         
         return ResponseEntity.ok(response);
     }
@@ -80,54 +103,107 @@ public class AnnouncementController {
     }
 
     @GetMapping("/group/{groupId}")
-    public ResponseEntity<Page<Map<String, Object>>> getAnnouncementsForGroup(
+    public ResponseEntity<?> getAnnouncementsForGroup(
             @PathVariable Long groupId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int comments) {
         Group group = groupService.getGroupById(groupId);
+        groupMembershipIndex.checkCanRead(groupId, userService.getCurrentUserId());
+        int perAnnouncement = Math.max(0, Math.min(comments, maxCommentPreviews));
+        
+        if (cursor != null) {
+            CursorPage<Announcement> announcements = announcementService.getAnnouncementsForGroup(group, PageCursor.parse(cursor), size);
+            Map<Long, List<CommentPreview>> previews = previewsOf(announcements.getItems(), perAnnouncement);
+            Map<Long, AuthorSummary> authors = authorsOf(announcements.getItems(), previews);
+            return ResponseEntity.ok(announcements.map(announcement -> toListResponse(announcement, authors, previews, perAnnouncement)));
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
         Page<Announcement> announcements = announcementService.getAnnouncementsForGroupPaginated(group, pageable);
+        Map<Long, List<CommentPreview>> previews = previewsOf(announcements.getContent(), perAnnouncement);
+        Map<Long, AuthorSummary> authors = authorsOf(announcements.getContent(), previews);
+        return ResponseEntity.ok(announcements.map(announcement -> toListResponse(announcement, authors, previews, perAnnouncement)));
+    }
+
+    @GetMapping("/student/timeline")
+    public ResponseEntity<CursorPage<TimelineItem>> getStudentTimeline(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        Long studentId = userService.getCurrentUserId();
+        return ResponseEntity.ok(timelineService.getTimeline(studentId, PageCursor.parse(cursor), size));
+    }
+
+    private Map<Long, List<CommentPreview>> previewsOf(List<Announcement> announcements, int perAnnouncement) {
+        if (perAnnouncement == 0) return Map.of();
+        return commentService.getLatestComments(announcements.stream()
+            .map(Announcement::getId)
+            .collect(Collectors.toList()), perAnnouncement);
+    }
+
+    private Map<Long, AuthorSummary> authorsOf(List<Announcement> announcements, Map<Long, List<CommentPreview>> previews) {
+        Set<Long> userIds = new HashSet<>();
+        announcements.stream()
+            .filter(announcement -> announcement.getTeacher() != null)
+            .forEach(announcement -> userIds.add(announcement.getTeacher().getId()));
+        previews.values().forEach(list -> list.forEach(preview -> userIds.add(preview.getUserId())));
+        userIds.remove(null);
+        return authorSummaryCache.getAll(userIds);
+    }
+
+    private Map<String, Object> toListResponse(Announcement announcement, Map<Long, AuthorSummary> authors,
+                                               Map<Long, List<CommentPreview>> previews, int perAnnouncement) {
+        Map<String, Object> response = toListResponse(announcement, authors);
+        if (perAnnouncement > 0) {
+            response.put("latestComments", previews.getOrDefault(announcement.getId(), List.of()).stream()
+                .map(preview -> toPreviewResponse(preview, authors))
+                .collect(Collectors.toList()));
+        }
+        return response;
+    }
+
+    private Map<String, Object> toPreviewResponse(CommentPreview preview, Map<Long, AuthorSummary> authors) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", preview.getId());
+        response.put("content", preview.getContent());
+        response.put("createdAt", preview.getCreatedAt());
+        if (preview.getUserId() != null && authors.containsKey(preview.getUserId())) {
+            response.put("user", authors.get(preview.getUserId()).asMap());
+        }
+        return response;
+    }
+
+    private Map<String, Object> toListResponse(Announcement announcement, Map<Long, AuthorSummary> authors) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", announcement.getId());
+        response.put("content", announcement.getContent());
+        response.put("commentCount", activityCounters.commentCount(announcement));
+        response.put("createdAt", announcement.getCreatedAt());
         
-        Page<Map<String, Object>> responsePage = announcements.map(announcement -> {
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", announcement.getId());
-            response.put("content", announcement.getContent());
-            response.put("createdAt", announcement.getCreatedAt());
-            
-            User teacher = announcement.getTeacher();
-            if (teacher != null) {
-                response.put("user", Map.of(
-                    "id", teacher.getId(),
-                    "firstName", teacher.getFirstName(),
-                    "lastName", teacher.getLastName(),
-                    "role", teacher.getRole().toString()
-                ));
-            }
-            
-            return response;
-        });
+        User teacher = announcement.getTeacher();
+        if (teacher != null && authors.containsKey(teacher.getId())) {
+            response.put("user", authors.get(teacher.getId()).asMap());
+        }
         
-        return ResponseEntity.ok(responsePage);
+        return response;
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> getAnnouncementById(
             @PathVariable Long id) {
         Announcement announcement = announcementService.getAnnouncementById(id);
+        groupMembershipIndex.checkCanRead(announcement.getGroup().getId(), userService.getCurrentUserId());
         
         Map<String, Object> response = new HashMap<>();
         response.put("id", announcement.getId());
         response.put("content", announcement.getContent());
+        response.put("commentCount", activityCounters.commentCount(announcement));
         response.put("createdAt", announcement.getCreatedAt());
         
         User teacher = announcement.getTeacher();
         if (teacher != null) {
-            response.put("user", Map.of(
-                "id", teacher.getId(),
-                "firstName", teacher.getFirstName(),
-                "lastName", teacher.getLastName(),
-                "role", teacher.getRole().toString()
-            ));
+            response.put("user", authorSummaryCache.asMap(teacher.getId()));
         }
         
         return ResponseEntity.ok(response);
@@ -0,0 +1,94 @@
+package com.classHub.classHub.controller;
+
+import com.classHub.classHub.entity.Announcement;
+import com.classHub.classHub.entity.Attachment;
+import com.classHub.classHub.entity.User;
+import com.classHub.classHub.service.AnnouncementService;
+import com.classHub.classHub.service.AttachmentSender;
+import com.classHub.classHub.service.AttachmentService;
+import com.classHub.classHub.service.AttachmentStorage;
+import com.classHub.classHub.service.GroupMembershipIndex;
+import com.classHub.classHub.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.stream.Collectors;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
+
+@RestController
+@RequestMapping("/attachment")
+public class AttachmentController {
+    @Autowired
+    private AttachmentService attachmentService;
+    @Autowired
+    private AnnouncementService announcementService;
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+    @Autowired
+    private AttachmentSender attachmentSender;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+
+    // The request body is the file itself, streamed to disk without multipart buffering
+    @PostMapping("/teacher/announcement/{announcementId}")
+    public ResponseEntity<Map<String, Object>> uploadAttachment(
+            @PathVariable Long announcementId,
+            @RequestParam String fileName,
+            HttpServletRequest request) throws IOException {
+        User teacher = userService.getCurrentUser();
+        Attachment attachment = attachmentService.addAttachment(announcementId, fileName, request.getContentType(),
+            request.getInputStream(), request.getContentLengthLong(), teacher);
+        return new ResponseEntity<>(toResponse(attachment, announcementId), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/announcement/{announcementId}")
+    public ResponseEntity<List<Map<String, Object>>> getAttachmentsForAnnouncement(
+            @PathVariable Long announcementId) {
+        Announcement announcement = announcementService.getAnnouncementById(announcementId);
+        groupMembershipIndex.checkCanRead(announcement.getGroup().getId(), userService.getCurrentUserId());
+        
+        List<Map<String, Object>> response = attachmentService.getAttachmentsForAnnouncement(announcementId).stream()
+            .map(attachment -> toResponse(attachment, announcementId))
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/download")
+    public void downloadAttachment(
+            @PathVariable Long id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Attachment attachment = attachmentService.getAttachmentById(id);
+        groupMembershipIndex.checkCanRead(attachment.getAnnouncement().getGroup().getId(), userService.getCurrentUserId());
+        attachmentSender.send(attachment, attachmentStorage.path(attachment.getSha256()), request, response);
+    }
+
+    @DeleteMapping("/teacher/{id}")
+    public ResponseEntity<Void> deleteAttachment(
+            @PathVariable Long id) {
+        User teacher = userService.getCurrentUser();
+        attachmentService.deleteAttachment(id, teacher);
+        return ResponseEntity.noContent().build();
+    }
+
+    private Map<String, Object> toResponse(Attachment attachment, Long announcementId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", attachment.getId());
+        response.put("announcementId", announcementId);
+        response.put("fileName", attachment.getFileName());
+        response.put("contentType", attachment.getContentType());
+        response.put("size", attachment.getSize());
+        response.put("sha256", attachment.getSha256());
+        response.put("createdAt", attachment.getCreatedAt());
+        response.put("downloadUrl", "/attachment/" + attachment.getId() + "/download");
+        return response;
+    }
+}
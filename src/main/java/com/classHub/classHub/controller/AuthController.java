@@ -1,10 +1,18 @@
 package com.classHub.classHub.controller;
 
+import com.classHub.classHub.audit.AuthAuditEvent;
+import com.classHub.classHub.audit.AuthAuditLog;
 import com.classHub.classHub.config.JwtUtil;
+import com.classHub.classHub.config.LoginThrottle;
 import com.classHub.classHub.entity.Role;
 import com.classHub.classHub.entity.User;
 import com.classHub.classHub.repo.UserRepository;
 import com.classHub.classHub.pojoRequest.AuthRequest;
+import com.classHub.classHub.service.PasswordVerificationService;
+import com.classHub.classHub.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -25,18 +33,29 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PasswordVerificationService passwordVerificationService;
+
+    @Autowired
+    private AuthAuditLog authAuditLog;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @PostMapping("/register")
-    public ResponseEntity<String> register(@RequestBody AuthRequest req) {
-        System.out.println("[REGISTER] Email: " + req.getEmail());
-        System.out.println("[REGISTER] Raw Password: " + req.getPassword());
-        
+    public ResponseEntity<String> register(@RequestBody AuthRequest req, HttpServletRequest request) {
         // Check if email is a gmail address
         if (req.getEmail() == null || !req.getEmail().toLowerCase().endsWith("@gmail.com")) {
+            authAuditLog.record(AuthAuditEvent.of("REGISTER", "REJECTED", req.getEmail(), request.getRemoteAddr(), "invalid_email"));
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body("Email must be a @gmail.com address.");
         }
         // Check if email already exists
         if (userRepository.existsByEmail(req.getEmail())) {
+            authAuditLog.record(AuthAuditEvent.of("REGISTER", "REJECTED", req.getEmail(), request.getRemoteAddr(), "email_exists"));
             return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body("A user with this email already exists. Please use a different @gmail.com address.");
         }
@@ -45,9 +64,7 @@ public class AuthController {
         user.setFirstName(req.getFirstName());
         user.setLastName(req.getLastName());
         user.setEmail(req.getEmail());
-        String encodedPassword = passwordEncoder.encode(req.getPassword());
-        user.setPassword(encodedPassword);
-        System.out.println("[REGISTER] Encoded Password: " + encodedPassword);
+        user.setPassword(passwordEncoder.encode(req.getPassword()));
         user.setBio(req.getBio());
         if (req.getRole() == null ||
             !(req.getRole().equalsIgnoreCase("STUDENT") || req.getRole().equalsIgnoreCase("TEACHER"))) {
@@ -56,29 +73,45 @@ public class AuthController {
             user.setRole(Role.valueOf(req.getRole().toUpperCase()));
         }
         userRepository.save(user);
-        System.out.println("[REGISTER] User saved: " + user.getEmail());
+        authAuditLog.record(AuthAuditEvent.of("REGISTER", "SUCCESS", user.getEmail(), request.getRemoteAddr(), null));
         return new ResponseEntity<>("User registered successfully", HttpStatus.CREATED);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody AuthRequest req) {
-        System.out.println("[LOGIN] Attempt Email: " + req.getEmail());
-        System.out.println("[LOGIN] Attempt Raw Password: " + req.getPassword());
+    public ResponseEntity<String> login(@RequestBody AuthRequest req, HttpServletRequest request) {
+        loginThrottle.checkAccount(req.getEmail());
         User dbUser = userRepository.findByEmail(req.getEmail());
-        if (dbUser == null) {
-            System.out.println("[LOGIN] No user found for email: " + req.getEmail());
-        } else {
-            System.out.println("[LOGIN] DB Encoded Password: " + dbUser.getPassword());
-            boolean match = passwordEncoder.matches(req.getPassword(), dbUser.getPassword());
-            System.out.println("[LOGIN] Password match: " + match);
+        if (dbUser != null && dbUser.isDisabled()) {
+            authAuditLog.record(AuthAuditEvent.of("LOGIN", "FAILURE", req.getEmail(), request.getRemoteAddr(), "account_disabled"));
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
         }
-        if (dbUser != null && passwordEncoder.matches(req.getPassword(), dbUser.getPassword())) {
-            String token = jwtUtil.generateToken(dbUser.getEmail(), dbUser.getRole().name());
+        boolean match = dbUser != null && passwordVerificationService.verify(dbUser, req.getPassword());
+        if (match) {
+            authAuditLog.record(AuthAuditEvent.of("LOGIN", "SUCCESS", req.getEmail(), request.getRemoteAddr(), null));
+            String token = jwtUtil.generateToken(dbUser);
             return ResponseEntity.ok(token);
         }
+        authAuditLog.record(AuthAuditEvent.of("LOGIN", "FAILURE", req.getEmail(), request.getRemoteAddr(),
+            dbUser == null ? "unknown_user" : "bad_password"));
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return ResponseEntity.noContent().build();
+        }
+        try {
+            Claims claims = jwtUtil.verifyToken(authorizationHeader.substring(7));
+            tokenRevocationService.revokeToken(claims);
+            authAuditLog.record(AuthAuditEvent.of("LOGOUT", "SUCCESS", claims.getSubject(), request.getRemoteAddr(), null));
+        } catch (JwtException e) {
+            // Expired or invalid tokens are already unusable
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("ClassHub API is running!");
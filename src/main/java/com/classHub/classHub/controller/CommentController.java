@@ -3,9 +3,14 @@ package com.classHub.classHub.controller;
 import com.classHub.classHub.entity.Comment;
 import com.classHub.classHub.entity.Announcement;
 import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.AuthorSummary;
+import com.classHub.classHub.pojoResponse.CursorPage;
 import com.classHub.classHub.service.CommentService;
+import com.classHub.classHub.service.GroupMembershipIndex;
 import com.classHub.classHub.service.AnnouncementService;
 import com.classHub.classHub.service.UserService;
+import com.classHub.classHub.service.AuthorSummaryCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -27,6 +32,10 @@ public class CommentController {
     private AnnouncementService announcementService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private AuthorSummaryCache authorSummaryCache;
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
 
     @PostMapping("/add")
     public ResponseEntity<Map<String, Object>> addComment(
@@ -34,75 +43,90 @@ public class CommentController {
             @RequestParam String content) {
         User user = userService.getCurrentUser();
         Announcement announcement = announcementService.getAnnouncementById(announcementId);
+        groupMembershipIndex.checkCanRead(announcement.getGroup().getId(), user.getId());
         Comment comment = commentService.addComment(content, announcement, user);
         
         Map<String, Object> response = new HashMap<>();
         response.put("id", comment.getId());
         response.put("content", comment.getContent());
         response.put("createdAt", comment.getCreatedAt());
-        response.put("user", Map.of(
-            "id", user.getId(),
-            "firstName", user.getFirstName(),
-            "lastName", user.getLastName(),
-            "role", user.getRole().toString()
-        ));
+        response.put("user", authorSummaryCache.asMap(user.getId()));
         
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @GetMapping("/announcement/{announcementId}")
-    public ResponseEntity<Page<Map<String, Object>>> getCommentsForAnnouncement(
+    public ResponseEntity<?> getCommentsForAnnouncement(
             @PathVariable Long announcementId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
         Announcement announcement = announcementService.getAnnouncementById(announcementId);
+        groupMembershipIndex.checkCanRead(announcement.getGroup().getId(), userService.getCurrentUserId());
+        
+        if (cursor != null) {
+            CursorPage<Comment> comments = commentService.getCommentsForAnnouncement(announcement, PageCursor.parse(cursor), size);
+            Map<Long, AuthorSummary> authors = authorsOf(comments.getItems());
+            return ResponseEntity.ok(comments.map(comment -> toListResponse(comment, authors)));
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
         Page<Comment> comments = commentService.getCommentsForAnnouncementPaginated(announcement, pageable);
+        Map<Long, AuthorSummary> authors = authorsOf(comments.getContent());
+        return ResponseEntity.ok(comments.map(comment -> toListResponse(comment, authors)));
+    }
+
+    private Map<Long, AuthorSummary> authorsOf(List<Comment> comments) {
+        return authorSummaryCache.getAll(comments.stream()
+            .filter(comment -> comment.getUser() != null)
+            .map(comment -> comment.getUser().getId())
+            .collect(Collectors.toList()));
+    }
+
+    private Map<String, Object> toListResponse(Comment comment, Map<Long, AuthorSummary> authors) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", comment.getId());
+        response.put("content", comment.getContent());
+        response.put("createdAt", comment.getCreatedAt());
         
-        Page<Map<String, Object>> responsePage = comments.map(comment -> {
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", comment.getId());
-            response.put("content", comment.getContent());
-            response.put("createdAt", comment.getCreatedAt());
-            
-            User commentUser = comment.getUser();
-            if (commentUser != null) {
-                response.put("user", Map.of(
-                    "id", commentUser.getId(),
-                    "firstName", commentUser.getFirstName(),
-                    "lastName", commentUser.getLastName(),
-                    "role", commentUser.getRole().toString()
-                ));
-            }
-            
-            return response;
-        });
+        User commentUser = comment.getUser();
+        if (commentUser != null && authors.containsKey(commentUser.getId())) {
+            response.put("user", authors.get(commentUser.getId()).asMap());
+        }
         
-        return ResponseEntity.ok(responsePage);
+        return response;
     }
 
     @GetMapping("/user")
-    public ResponseEntity<List<Map<String, Object>>> getCommentsByUser() {
+    public ResponseEntity<?> getCommentsByUser(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
         User user = userService.getCurrentUser();
-        List<Comment> comments = commentService.getCommentsByUser(user);
+        Map<String, Object> author = authorSummaryCache.asMap(user.getId());
         
-        List<Map<String, Object>> response = comments.stream().map(comment -> {
-            Map<String, Object> commentMap = new HashMap<>();
-            commentMap.put("id", comment.getId());
-            commentMap.put("content", comment.getContent());
-            commentMap.put("createdAt", comment.getCreatedAt());
-            commentMap.put("user", Map.of(
-                "id", user.getId(),
-                "firstName", user.getFirstName(),
-                "lastName", user.getLastName(),
-                "role", user.getRole().toString()
-            ));
-            return commentMap;
-        }).collect(Collectors.toList());
+        // Without a cursor the full list is returned, as before
+        if (cursor != null) {
+            CursorPage<Comment> comments = commentService.getCommentsByUser(user, PageCursor.parse(cursor), size);
+            return ResponseEntity.ok(comments.map(comment -> toUserCommentResponse(comment, author)));
+        }
+        
+        List<Comment> comments = commentService.getCommentsByUser(user);
+        List<Map<String, Object>> response = comments.stream()
+            .map(comment -> toUserCommentResponse(comment, author))
+            .collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
     }
 
+    private Map<String, Object> toUserCommentResponse(Comment comment, Map<String, Object> author) {
+        Map<String, Object> commentMap = new HashMap<>();
+        commentMap.put("id", comment.getId());
+        commentMap.put("content", comment.getContent());
+        commentMap.put("createdAt", comment.getCreatedAt());
+        commentMap.put("user", author);
+        return commentMap;
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Map<String, Object>> updateComment(
             @PathVariable Long id,
@@ -114,12 +138,7 @@ public class CommentController {
         response.put("id", comment.getId());
         response.put("content", comment.getContent());
         response.put("createdAt", comment.getCreatedAt());
-        response.put("user", Map.of(
-            "id", user.getId(),
-            "firstName", user.getFirstName(),
-            "lastName", user.getLastName(),
-            "role", user.getRole().toString()
-        ));
+        response.put("user", authorSummaryCache.asMap(user.getId()));
         
         return ResponseEntity.ok(response);
     }
@@ -136,6 +155,7 @@ public class CommentController {
     public ResponseEntity<Map<String, Object>> getCommentById(
             @PathVariable Long id) {
         Comment comment = commentService.getCommentById(id);
+        groupMembershipIndex.checkCanRead(comment.getAnnouncement().getGroup().getId(), userService.getCurrentUserId());
         
         Map<String, Object> response = new HashMap<>();
         response.put("id", comment.getId());
@@ -144,12 +164,7 @@ public class CommentController {
         
         User commentUser = comment.getUser();
         if (commentUser != null) {
-            response.put("user", Map.of(
-                "id", commentUser.getId(),
-                "firstName", commentUser.getFirstName(),
-                "lastName", commentUser.getLastName(),
-                "role", commentUser.getRole().toString()
-            ));
+            response.put("user", authorSummaryCache.asMap(commentUser.getId()));
         }
         
         return ResponseEntity.ok(response);
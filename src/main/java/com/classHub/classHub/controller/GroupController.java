@@ -2,16 +2,32 @@ package com.classHub.classHub.controller;
 
 import com.classHub.classHub.entity.Group;
 import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.GroupDefinition;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.AuthorSummary;
+import com.classHub.classHub.pojoResponse.CursorPage;
+import com.classHub.classHub.pojoResponse.StudentDashboard;
+import com.classHub.classHub.service.GroupEventDispatcher;
+import com.classHub.classHub.service.GroupMembershipIndex;
 import com.classHub.classHub.service.GroupService;
+import com.classHub.classHub.service.MemberExportService;
+import com.classHub.classHub.service.StudentDashboardService;
 import com.classHub.classHub.service.UserService;
+import com.classHub.classHub.service.ActivityCounters;
+import com.classHub.classHub.service.AuthorSummaryCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +39,22 @@ public class GroupController {
     private GroupService groupService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private AuthorSummaryCache authorSummaryCache;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+    @Autowired
+    private MemberExportService memberExportService;
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+    @Autowired
+    private GroupEventDispatcher groupEventDispatcher;
+
+    @Value("${dashboard.max-announcements-per-group:20}")
+    private int maxDashboardAnnouncements;
 
     @PostMapping("/teacher/create")
     public ResponseEntity<Map<String, Object>> createGroup(
@@ -36,13 +68,33 @@ public class GroupController {
         response.put("name", group.getName());
         response.put("description", group.getDescription());
         response.put("joinCode", group.getJoinCode());
+        response.put("memberCount", activityCounters.memberCount(group));
+        response.put("announcementCount", activityCounters.announcementCount(group));
         response.put("createdAt", group.getCreatedAt());
-        response.put("teacher", Map.of(
-            "id", teacher.getId(),
-            "firstName", teacher.getFirstName(),
-            "lastName", teacher.getLastName(),
-            "role", teacher.getRole().toString()
-        ));
+        response.put("teacher", authorSummaryCache.asMap(teacher.getId()));
+        
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/teacher/bulk-create")
+    public ResponseEntity<List<Map<String, Object>>> createGroups(
+            @RequestBody List<GroupDefinition> definitions) {
+        User teacher = userService.getCurrentUser();
+        List<Group> groups = groupService.createGroups(definitions, teacher);
+        Map<String, Object> author = authorSummaryCache.asMap(teacher.getId());
+        
+        List<Map<String, Object>> response = groups.stream().map(group -> {
+            Map<String, Object> groupMap = new HashMap<>();
+            groupMap.put("id", group.getId());
+            groupMap.put("name", group.getName());
+            groupMap.put("description", group.getDescription());
+            groupMap.put("joinCode", group.getJoinCode());
+            groupMap.put("memberCount", activityCounters.memberCount(group));
+            groupMap.put("announcementCount", activityCounters.announcementCount(group));
+            groupMap.put("createdAt", group.getCreatedAt());
+            groupMap.put("teacher", author);
+            return groupMap;
+        }).collect(Collectors.toList());
         
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -60,13 +112,10 @@ public class GroupController {
         response.put("name", group.getName());
         response.put("description", group.getDescription());
         response.put("joinCode", group.getJoinCode());
+        response.put("memberCount", activityCounters.memberCount(group));
+        response.put("announcementCount", activityCounters.announcementCount(group));
         response.put("createdAt", group.getCreatedAt());
-        response.put("teacher", Map.of(
-            "id", teacher.getId(),
-            "firstName", teacher.getFirstName(),
-            "lastName", teacher.getLastName(),
-            "role", teacher.getRole().toString()
-        ));
+        response.put("teacher", authorSummaryCache.asMap(teacher.getId()));
         
         return ResponseEntity.ok(response);
     }
@@ -80,62 +129,86 @@ public class GroupController {
     }
 
     @GetMapping("/teacher/list")
-    public ResponseEntity<Page<Map<String, Object>>> getGroupsForTeacher(
+    public ResponseEntity<?> getGroupsForTeacher(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
         User teacher = userService.getCurrentUser();
+        Map<String, Object> author = authorSummaryCache.asMap(teacher.getId());
+        
+        if (cursor != null) {
+            CursorPage<Group> groups = groupService.getGroupsForTeacher(teacher, PageCursor.parse(cursor), size);
+            return ResponseEntity.ok(groups.map(group -> toTeacherGroupResponse(group, author)));
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
         Page<Group> groups = groupService.getGroupsForTeacherPaginated(teacher, pageable);
-        
-        Page<Map<String, Object>> responsePage = groups.map(group -> {
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", group.getId());
-            response.put("name", group.getName());
-            response.put("description", group.getDescription());
-            response.put("joinCode", group.getJoinCode());
-            response.put("createdAt", group.getCreatedAt());
-            response.put("teacher", Map.of(
-                "id", teacher.getId(),
-                "firstName", teacher.getFirstName(),
-                "lastName", teacher.getLastName(),
-                "role", teacher.getRole().toString()
-            ));
-            return response;
-        });
-        
-        return ResponseEntity.ok(responsePage);
+        return ResponseEntity.ok(groups.map(group -> toTeacherGroupResponse(group, author)));
+    }
+
+    private Map<String, Object> toTeacherGroupResponse(Group group, Map<String, Object> author) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", group.getId());
+        response.put("name", group.getName());
+        response.put("description", group.getDescription());
+        response.put("joinCode", group.getJoinCode());
+        response.put("memberCount", activityCounters.memberCount(group));
+        response.put("announcementCount", activityCounters.announcementCount(group));
+        response.put("createdAt", group.getCreatedAt());
+        response.put("teacher", author);
+        return response;
+    }
+
+    @GetMapping("/student/dashboard")
+    public ResponseEntity<StudentDashboard> getStudentDashboard(
+            @RequestParam(defaultValue = "3") int announcements) {
+        Long studentId = userService.getCurrentUserId();
+        int perGroup = Math.max(0, Math.min(announcements, maxDashboardAnnouncements));
+        return ResponseEntity.ok(studentDashboardService.getDashboard(studentId, perGroup));
     }
 
     @GetMapping("/student/list")
-    public ResponseEntity<Page<Map<String, Object>>> getGroupsForStudent(
+    public ResponseEntity<?> getGroupsForStudent(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
         User student = userService.getCurrentUser();
+        
+        if (cursor != null) {
+            CursorPage<Group> groups = groupService.getGroupsForStudent(student, PageCursor.parse(cursor), size);
+            Map<Long, AuthorSummary> authors = teachersOf(groups.getItems());
+            return ResponseEntity.ok(groups.map(group -> toStudentGroupResponse(group, authors)));
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
         Page<Group> groups = groupService.getGroupsForStudentPaginated(student, pageable);
+        Map<Long, AuthorSummary> authors = teachersOf(groups.getContent());
+        return ResponseEntity.ok(groups.map(group -> toStudentGroupResponse(group, authors)));
+    }
+
+    private Map<Long, AuthorSummary> teachersOf(List<Group> groups) {
+        return authorSummaryCache.getAll(groups.stream()
+            .filter(group -> group.getTeacher() != null)
+            .map(group -> group.getTeacher().getId())
+            .collect(Collectors.toList()));
+    }
+
+    private Map<String, Object> toStudentGroupResponse(Group group, Map<Long, AuthorSummary> authors) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", group.getId());
+        response.put("name", group.getName());
+        response.put("description", group.getDescription());
+        response.put("joinCode", group.getJoinCode());
+        response.put("memberCount", activityCounters.memberCount(group));
+        response.put("announcementCount", activityCounters.announcementCount(group));
+        response.put("createdAt", group.getCreatedAt());
+        
+        User groupTeacher = group.getTeacher();
+        if (groupTeacher != null && authors.containsKey(groupTeacher.getId())) {
+            response.put("teacher", authors.get(groupTeacher.getId()).asMap());
+        }
         
-        Page<Map<String, Object>> responsePage = groups.map(group -> {
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", group.getId());
-            response.put("name", group.getName());
-            response.put("description", group.getDescription());
-            response.put("joinCode", group.getJoinCode());
-            response.put("createdAt", group.getCreatedAt());
-            
-            User groupTeacher = group.getTeacher();
-            if (groupTeacher != null) {
-                response.put("teacher", Map.of(
-                    "id", groupTeacher.getId(),
-                    "firstName", groupTeacher.getFirstName(),
-                    "lastName", groupTeacher.getLastName(),
-                    "role", groupTeacher.getRole().toString()
-                ));
-            }
-            
-            return response;
-        });
-        
-        return ResponseEntity.ok(responsePage);
+        return response;
     }
 
     @PostMapping("/student/join")
@@ -149,26 +222,45 @@ public class GroupController {
         response.put("name", group.getName());
         response.put("description", group.getDescription());
         response.put("joinCode", group.getJoinCode());
+        response.put("memberCount", activityCounters.memberCount(group));
+        response.put("announcementCount", activityCounters.announcementCount(group));
         response.put("createdAt", group.getCreatedAt());
         
         User groupTeacher = group.getTeacher();
         if (groupTeacher != null) {
-            response.put("teacher", Map.of(
-                "id", groupTeacher.getId(),
-                "firstName", groupTeacher.getFirstName(),
-                "lastName", groupTeacher.getLastName(),
-                "role", groupTeacher.getRole().toString()
-            ));
+            response.put("teacher", authorSummaryCache.asMap(groupTeacher.getId()));
         }
         
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/teacher/{groupId}/members/export")
+    public ResponseEntity<StreamingResponseBody> exportGroupMembers(
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "csv") String format) {
+        User teacher = userService.getCurrentUser();
+        groupService.getGroupById(groupId);
+        groupMembershipIndex.checkTeacher(groupId, teacher.getId());
+        MemberExportService.Format exportFormat = MemberExportService.Format.parse(format);
+        
+        StreamingResponseBody body = out -> memberExportService.write(groupId, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"group-" + groupId + "-members." + exportFormat.extension + "\"")
+            .body(body);
+    }
+
     @GetMapping("/{groupId}/members")
-    public ResponseEntity<Page<User>> getGroupMembers(
+    public ResponseEntity<?> getGroupMembers(
             @PathVariable Long groupId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        groupMembershipIndex.checkCanRead(groupId, userService.getCurrentUserId());
+        if (cursor != null) {
+            return ResponseEntity.ok(groupService.getGroupMembers(groupId, PageCursor.parse(cursor), size));
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<User> members = groupService.getGroupMembersPaginated(groupId, pageable);
         return ResponseEntity.ok(members);
@@ -178,27 +270,34 @@ public class GroupController {
     public ResponseEntity<Map<String, Object>> getGroupById(
             @PathVariable Long groupId) {
         Group group = groupService.getGroupById(groupId);
+        groupMembershipIndex.checkCanRead(groupId, userService.getCurrentUserId());
         
         Map<String, Object> response = new HashMap<>();
         response.put("id", group.getId());
         response.put("name", group.getName());
         response.put("description", group.getDescription());
         response.put("joinCode", group.getJoinCode());
+        response.put("memberCount", activityCounters.memberCount(group));
+        response.put("announcementCount", activityCounters.announcementCount(group));
         response.put("createdAt", group.getCreatedAt());
         
         User groupTeacher = group.getTeacher();
         if (groupTeacher != null) {
-            response.put("teacher", Map.of(
-                "id", groupTeacher.getId(),
-                "firstName", groupTeacher.getFirstName(),
-                "lastName", groupTeacher.getLastName(),
-                "role", groupTeacher.getRole().toString()
-            ));
+            response.put("teacher", authorSummaryCache.asMap(groupTeacher.getId()));
         }
         
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/{groupId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToGroupEvents(
+            @PathVariable Long groupId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Long userId = userService.getCurrentUserId();
+        groupMembershipIndex.checkCanRead(groupId, userId);
+        return groupEventDispatcher.subscribe(groupId, userId, lastEventId);
+    }
+
     @DeleteMapping("/teacher/{groupId}/students/{studentId}")
     public ResponseEntity<Void> removeStudentFromGroup(
             @PathVariable Long groupId,
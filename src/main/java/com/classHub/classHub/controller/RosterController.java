@@ -0,0 +1,31 @@
+package com.classHub.classHub.controller;
+
+import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoResponse.RosterImportResult;
+import com.classHub.classHub.service.RosterImportService;
+import com.classHub.classHub.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/roster")
+public class RosterController {
+    @Autowired
+    private RosterImportService rosterImportService;
+    @Autowired
+    private UserService userService;
+
+    @PostMapping(value = "/teacher/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<RosterImportResult> importRoster(
+            @RequestParam(required = false) Long groupId,
+            HttpServletRequest request) throws IOException {
+        User teacher = userService.getCurrentUser();
+        boolean ndjson = request.getContentType() != null && request.getContentType().startsWith("application/x-ndjson");
+        RosterImportResult result = rosterImportService.importRoster(request.getInputStream(), ndjson, groupId, teacher);
+        return ResponseEntity.ok(result);
+    }
+}
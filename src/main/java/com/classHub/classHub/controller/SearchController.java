@@ -0,0 +1,36 @@
+package com.classHub.classHub.controller;
+
+import com.classHub.classHub.pojoResponse.SearchHit;
+import com.classHub.classHub.service.SearchService;
+import com.classHub.classHub.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+    @Autowired
+    private SearchService searchService;
+    @Autowired
+    private UserService userService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Long groupId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<SearchHit> hits = searchService.search(userService.getCurrentUserId(), q, groupId, page, size);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", q);
+        response.put("page", page);
+        response.put("size", size);
+        response.put("hits", hits);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,5 +1,6 @@
 package com.classHub.classHub.controller;
 
+import com.classHub.classHub.entity.AccountPurgeJob;
 import com.classHub.classHub.entity.User;
 import com.classHub.classHub.entity.Role;
 import com.classHub.classHub.pojoRequest.PostUser;
@@ -9,7 +10,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -26,7 +29,7 @@ public class UserController {
 
     @GetMapping("/profile")
     public ResponseEntity<User> getCurrentUserProfile() {
-        User user = userService.getCurrentUser();
+        User user = userService.findById(userService.getCurrentUserId());
         return ResponseEntity.ok(user);
     }
 
@@ -37,9 +40,15 @@ public class UserController {
     }
 
     @DeleteMapping("/profile")
-    public ResponseEntity<Void> deleteUserProfile() {
-        userService.deleteCurrentUser();
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Map<String, Object>> deleteUserProfile() {
+        AccountPurgeJob job = userService.deleteCurrentUser();
+        return new ResponseEntity<>(toPurgeJobMap(job), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/purge-jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getPurgeJob(
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(toPurgeJobMap(userService.getAccountPurgeJob(jobId)));
     }
 
     @GetMapping("/role/{role}")
@@ -62,4 +71,19 @@ public class UserController {
         boolean exists = userService.existsByEmail(email);
         return ResponseEntity.ok(exists);
     }
+
+    private Map<String, Object> toPurgeJobMap(AccountPurgeJob job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", job.getId());
+        response.put("phase", job.getPhase());
+        response.put("done", job.getPhase() == AccountPurgeJob.Phase.DONE);
+        response.put("failed", job.getPhase() == AccountPurgeJob.Phase.FAILED);
+        response.put("deletedRows", job.getDeletedRows());
+        response.put("attempts", job.getAttempts());
+        response.put("lastError", job.getLastError());
+        response.put("createdAt", job.getCreatedAt());
+        response.put("updatedAt", job.getUpdatedAt());
+        response.put("completedAt", job.getCompletedAt());
+        return response;
+    }
 }
@@ -0,0 +1,64 @@
+package com.classHub.classHub.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Persistent progress of an account deletion. The phase is checkpointed as the purge moves
+ * along, so a restarted node resumes where the previous run stopped.
+ */
+@Entity
+@Table(name = "account_purge_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class AccountPurgeJob {
+
+    public enum Phase {
+        USER_COMMENTS,
+        ANNOUNCEMENT_COMMENTS,
+        STUDENT_TIMELINE,
+        ANNOUNCEMENT_TIMELINE,
+        ANNOUNCEMENTS,
+        ENROLLMENTS,
+        GROUPS,
+        ACCOUNT,
+        DONE,
+        // Gave up after too many failed attempts; a new deletion request starts over
+        FAILED
+    }
+
+    public static final Set<Phase> FINISHED = EnumSet.of(Phase.DONE, Phase.FAILED);
+
+    // Random so that the id can be handed out as the handle for the status endpoint
+    @Id
+    private String id;
+
+    private Long userId;
+
+    private Long requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    private Phase phase;
+
+    private long deletedRows;
+
+    // Consecutive failures of the current phase
+    private int attempts;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+}
@@ -29,7 +29,7 @@ public class Announcement {
     @JsonBackReference
     private Group group;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
     @JsonIgnore
     private User teacher;
@@ -39,6 +39,11 @@ public class Announcement {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Maintained by ActivityCounters; add its pending delta when reading
+    @Column(name = "comment_count", insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private Long commentCount;
+
     @OneToMany(mappedBy = "announcement")
     @JsonManagedReference
     private List<Comment> comments;
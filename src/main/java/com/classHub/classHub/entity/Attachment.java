@@ -0,0 +1,48 @@
+package com.classHub.classHub.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * A file attached to an announcement. The bytes live in AttachmentStorage under their SHA-256,
+ * so identical files uploaded to several announcements are stored once.
+ */
+@Entity
+@Table(name = "attachments", indexes = {
+        @Index(name = "idx_attachments_announcement", columnList = "announcement_id"),
+        @Index(name = "idx_attachments_sha256", columnList = "sha256")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "announcement_id")
+    @JsonIgnore
+    @ToString.Exclude
+    private Announcement announcement;
+
+    @Column(length = 64, nullable = false)
+    private String sha256;
+
+    private String fileName;
+
+    private String contentType;
+
+    private long size;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+}
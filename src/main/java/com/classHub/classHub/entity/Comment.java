@@ -27,7 +27,7 @@ public class Comment {
     @JsonBackReference
     private Announcement announcement;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonIgnore
     private User user;
@@ -5,13 +5,16 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "groups")
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,7 +35,25 @@ public class Group {
     @Column(name = "created_at", nullable = true)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    // Maintained by ActivityCounters; add its pending delta when reading
+    @Column(name = "member_count", insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private Long memberCount;
+
+    @Column(name = "announcement_count", insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private Long announcementCount;
+
+    // Newest announcement skipped by the timeline fan-out while the group was too large; maintained by TimelineService
+    @JsonIgnore
+    @Column(name = "timeline_merged_until", insertable = false, updatable = false)
+    private LocalDateTime timelineMergedUntil;
+
+    // Set when the group is deleted; the row stays hidden until GroupPurger removes it
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
     private User teacher;
 
@@ -0,0 +1,36 @@
+package com.classHub.classHub.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked token (by jti) or, when {@code revokedBefore} is set, every token of a user
+ * issued before that instant. Rows are only kept until the tokens they cover would expire.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(columnList = "expiresAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String tokenId;
+
+    private Long userId;
+
+    private LocalDateTime revokedBefore;
+
+    private LocalDateTime expiresAt;
+}
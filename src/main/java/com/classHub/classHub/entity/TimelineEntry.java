@@ -0,0 +1,52 @@
+package com.classHub.classHub.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One announcement in one student's materialized timeline, written by the fan-out worker.
+ * The created_at of the announcement is copied here so a timeline page is a single range scan.
+ */
+@Entity
+@Table(name = "timeline_entries", indexes = {
+        @Index(name = "idx_timeline_student_created", columnList = "student_id, created_at DESC, announcement_id DESC"),
+        @Index(name = "idx_timeline_announcement", columnList = "announcement_id"),
+        @Index(name = "idx_timeline_group", columnList = "group_id")
+})
+@IdClass(TimelineEntry.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class TimelineEntry {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Id
+    @Column(name = "announcement_id")
+    private Long announcementId;
+
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long studentId;
+        private Long announcementId;
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import com.classHub.classHub.entity.Role;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
 
 @Entity
@@ -30,6 +31,7 @@ public class User {
     @Column(unique = true)
     private String email;
 
+    @JsonIgnore
     private String password;
 
     @Enumerated(EnumType.STRING)
@@ -45,6 +47,17 @@ public class User {
 
     private String bio;
 
+    @JsonIgnore
+    private Integer tokenVersion = 0;
+
+    // Set when the account is scheduled for deletion
+    @JsonIgnore
+    private Boolean disabled = false;
+
+    public boolean isDisabled() {
+        return Boolean.TRUE.equals(disabled);
+    }
+
     @OneToMany(mappedBy = "teacher")
     @JsonBackReference
     private List<Group> groupsTaught;
@@ -0,0 +1,11 @@
+package com.classHub.classHub.exception;
+
+/**
+ * Thrown when the caller is authenticated but may not access the resource; surfaced as 403.
+ */
+public class ForbiddenException extends RuntimeException {
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.classHub.classHub.exception;
+
+/**
+ * Thrown when an upload exceeds its size limit; surfaced as 413.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
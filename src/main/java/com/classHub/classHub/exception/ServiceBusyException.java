@@ -0,0 +1,18 @@
+package com.classHub.classHub.exception;
+
+/**
+ * Thrown when a bounded worker pool cannot accept more work; surfaced as 503 so clients retry.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.classHub.classHub.exception;
+
+/**
+ * Thrown when a caller exceeds a rate limit; surfaced as 429 with Retry-After.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public TooManyRequestsException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
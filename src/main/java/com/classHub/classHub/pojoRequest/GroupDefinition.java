@@ -0,0 +1,11 @@
+package com.classHub.classHub.pojoRequest;
+
+public class GroupDefinition {
+    private String name;
+    private String description;
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
@@ -0,0 +1,50 @@
+package com.classHub.classHub.pojoRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the sort key and id of the last row a client has seen.
+ * An empty cursor asks for the first page.
+ */
+public class PageCursor {
+
+    private final Long id;
+    private final String key;
+
+    private PageCursor(Long id, String key) {
+        this.id = id;
+        this.key = key;
+    }
+
+    public Long getId() { return id; }
+
+    public String getKey() { return key; }
+
+    public LocalDateTime getKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    /** Returns null for the first page. */
+    public static PageCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new PageCursor(Long.parseLong(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public static String encode(Object key, Long id) {
+        String raw = id + ":" + (key == null ? "" : key.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,53 @@
+package com.classHub.classHub.pojoResponse;
+
+import com.classHub.classHub.entity.Role;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable {id, firstName, lastName, role} view of a user, as embedded in
+ * announcement, comment and group responses.
+ */
+public final class AuthorSummary {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final Role role;
+    private final Map<String, Object> map;
+
+    public AuthorSummary(Long id, String firstName, String lastName, Role role) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", id);
+        map.put("firstName", firstName);
+        map.put("lastName", lastName);
+        map.put("role", role == null ? null : role.toString());
+        this.map = Collections.unmodifiableMap(map);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public Map<String, Object> asMap() {
+        return map;
+    }
+}
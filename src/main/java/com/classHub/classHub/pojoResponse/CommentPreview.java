@@ -0,0 +1,19 @@
+package com.classHub.classHub.pojoResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One of the latest comments shown under an announcement in a feed page.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentPreview {
+    private final Long id;
+    private final Long announcementId;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final Long userId;
+}
@@ -0,0 +1,49 @@
+package com.classHub.classHub.pojoResponse;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list. There is no total count; {@code nextCursor} is null on
+ * the last page.
+ */
+@Getter
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    private CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    /** Fetch limit for a page of {@code size}: one extra row tells whether a next page exists. */
+    public static Pageable fetchLimit(int size) {
+        if (size < 1 || size > MAX_SIZE) throw new RuntimeException("size must be between 1 and " + MAX_SIZE);
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Builds a page from a query that fetched one row more than {@code size}; that extra row
+     * only tells whether another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) return new CursorPage<>(fetched, null);
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -0,0 +1,50 @@
+package com.classHub.classHub.pojoResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-row outcome of a roster import, plus totals for each status.
+ */
+@Getter
+public class RosterImportResult {
+
+    public enum Status {
+        CREATED,
+        EXISTS,
+        SKIPPED,
+        DUPLICATE,
+        INVALID
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Row {
+        private final int line;
+        private final String email;
+        private final Status status;
+        private final boolean enrolled;
+        private final String message;
+    }
+
+    private int created;
+    private int existing;
+    private int skipped;
+    private int rejected;
+    private int enrolled;
+    private final List<Row> rows = new ArrayList<>();
+
+    public void add(Row row) {
+        rows.add(row);
+        switch (row.getStatus()) {
+            case CREATED -> created++;
+            case EXISTS -> existing++;
+            case SKIPPED -> skipped++;
+            default -> rejected++;
+        }
+        if (row.isEnrolled()) enrolled++;
+    }
+}
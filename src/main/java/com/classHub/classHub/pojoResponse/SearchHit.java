@@ -0,0 +1,24 @@
+package com.classHub.classHub.pojoResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * An announcement or comment matching a search. The headline is HTML: the text is escaped and
+ * the matched terms are wrapped in {@code <mark>} tags.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+    private final String type;
+    private final Long id;
+    private final Long announcementId;
+    private final Long groupId;
+    private final String headline;
+    private final LocalDateTime createdAt;
+    private final double rank;
+    private final Map<String, Object> user;
+}
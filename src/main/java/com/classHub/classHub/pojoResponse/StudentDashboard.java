@@ -0,0 +1,42 @@
+package com.classHub.classHub.pojoResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A student's groups, each with its latest announcements and activity counts.
+ */
+@Getter
+public class StudentDashboard {
+
+    @Getter
+    @AllArgsConstructor
+    public static class AnnouncementEntry {
+        private final Long id;
+        private final String content;
+        private final LocalDateTime createdAt;
+        private final long commentCount;
+        private final Map<String, Object> teacher;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class GroupEntry {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final String joinCode;
+        private final LocalDateTime createdAt;
+        private final long memberCount;
+        private final long announcementCount;
+        private final Map<String, Object> teacher;
+        private final List<AnnouncementEntry> latestAnnouncements = new ArrayList<>();
+    }
+
+    private final List<GroupEntry> groups = new ArrayList<>();
+}
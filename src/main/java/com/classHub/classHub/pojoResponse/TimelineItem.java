@@ -0,0 +1,21 @@
+package com.classHub.classHub.pojoResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One announcement in a student's timeline.
+ */
+@Getter
+@AllArgsConstructor
+public class TimelineItem {
+    private final Long id;
+    private final Long groupId;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final long commentCount;
+    private final Map<String, Object> user;
+}
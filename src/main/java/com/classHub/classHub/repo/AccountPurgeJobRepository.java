@@ -0,0 +1,12 @@
+package com.classHub.classHub.repo;
+
+import com.classHub.classHub.entity.AccountPurgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AccountPurgeJobRepository extends JpaRepository<AccountPurgeJob, String> {
+    List<AccountPurgeJob> findByPhaseNotInOrderByCreatedAtAsc(Collection<AccountPurgeJob.Phase> phases);
+    AccountPurgeJob findFirstByUserIdAndPhaseNotIn(Long userId, Collection<AccountPurgeJob.Phase> phases);
+}
@@ -4,13 +4,20 @@ import com.classHub.classHub.entity.Announcement;
 import com.classHub.classHub.entity.Group;
 import com.classHub.classHub.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
     List<Announcement> findByGroup(Group group);
     Page<Announcement> findByGroupOrderByCreatedAtDesc(Group group, Pageable pageable);
+    List<Announcement> findByGroupOrderByCreatedAtDescIdDesc(Group group, Pageable pageable);
+    
+    @Query("SELECT a FROM Announcement a WHERE a.group = :group AND (a.createdAt, a.id) < (:createdAt, :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Announcement> findByGroupBefore(@Param("group") Group group, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
     List<Announcement> findByTeacher(User teacher);
     void deleteByGroup(Group group);
 }
@@ -0,0 +1,17 @@
+package com.classHub.classHub.repo;
+
+import com.classHub.classHub.entity.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
+
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+    List<Attachment> findByAnnouncementIdOrderByIdAsc(Long announcementId);
+    long countByAnnouncementId(Long announcementId);
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.announcement.id = :announcementId")
+    int deleteByAnnouncementId(@Param("announcementId") Long announcementId);
+}
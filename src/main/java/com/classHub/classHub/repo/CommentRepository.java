@@ -4,13 +4,27 @@ import com.classHub.classHub.entity.Comment;
 import com.classHub.classHub.entity.Announcement;
 import com.classHub.classHub.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByAnnouncement(Announcement announcement);
     Page<Comment> findByAnnouncementOrderByCreatedAtDesc(Announcement announcement, Pageable pageable);
+    List<Comment> findByAnnouncementOrderByCreatedAtDescIdDesc(Announcement announcement, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c WHERE c.announcement = :announcement AND (c.createdAt, c.id) < (:createdAt, :id) ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findByAnnouncementBefore(@Param("announcement") Announcement announcement, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c WHERE c.user = :user AND c.announcement.group.deletedAt IS NULL ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findByUserNewestFirst(@Param("user") User user, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c WHERE c.user = :user AND c.announcement.group.deletedAt IS NULL AND (c.createdAt, c.id) < (:createdAt, :id) ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findByUserBefore(@Param("user") User user, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
     List<Comment> findByUser(User user);
+    List<Comment> findByUserAndAnnouncementGroupDeletedAtIsNull(User user);
     void deleteByAnnouncement(Announcement announcement);
 }
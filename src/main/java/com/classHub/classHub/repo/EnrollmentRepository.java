@@ -8,16 +8,31 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByGroup(Group group);
     Page<Enrollment> findByGroupOrderByStudentFirstNameAsc(Group group, Pageable pageable);
     List<Enrollment> findByStudent(User student);
+    List<Enrollment> findByStudentAndGroupDeletedAtIsNull(User student);
     
-    @Query("SELECT e FROM Enrollment e WHERE e.student = :student ORDER BY e.group.createdAt DESC")
+    @Query("SELECT e FROM Enrollment e WHERE e.student = :student AND e.group.deletedAt IS NULL ORDER BY e.group.createdAt DESC")
     Page<Enrollment> findByStudentOrderByGroupCreatedAtDesc(@Param("student") User student, Pageable pageable);
     
+    @Query("SELECT e.group FROM Enrollment e WHERE e.student = :student AND e.group.deletedAt IS NULL ORDER BY e.group.createdAt DESC, e.group.id DESC")
+    List<Group> findGroupsByStudent(@Param("student") User student, Pageable pageable);
+    
+    @Query("SELECT e.group FROM Enrollment e WHERE e.student = :student AND e.group.deletedAt IS NULL AND (e.group.createdAt, e.group.id) < (:createdAt, :id) ORDER BY e.group.createdAt DESC, e.group.id DESC")
+    List<Group> findGroupsByStudentBefore(@Param("student") User student, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    // Seeks on the enrollment id so pages are a range scan of (group_id, id)
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student WHERE e.group = :group ORDER BY e.id")
+    List<Enrollment> findByGroupInJoinOrder(@Param("group") Group group, Pageable pageable);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student WHERE e.group = :group AND e.id > :id ORDER BY e.id")
+    List<Enrollment> findByGroupInJoinOrderAfter(@Param("group") Group group, @Param("id") Long id, Pageable pageable);
+    
     Enrollment findByGroupAndStudent(Group group, User student);
     void deleteByGroup(Group group);
 }
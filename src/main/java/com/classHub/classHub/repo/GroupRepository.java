@@ -7,13 +7,23 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface GroupRepository extends JpaRepository<Group, Long> {
     List<Group> findByTeacher(User teacher);
     Page<Group> findByTeacherOrderByCreatedAtDesc(User teacher, Pageable pageable);
+    List<Group> findByTeacherOrderByCreatedAtDescIdDesc(User teacher, Pageable pageable);
+    
+    @Query("SELECT g FROM Group g WHERE g.teacher = :teacher AND (g.createdAt, g.id) < (:createdAt, :id) ORDER BY g.createdAt DESC, g.id DESC")
+    List<Group> findByTeacherBefore(@Param("teacher") User teacher, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
     Group findByJoinCode(String joinCode);
     
-    @Query("SELECT g FROM Group g WHERE UPPER(g.joinCode) = UPPER(:joinCode)")
-    Group findByJoinCodeIgnoreCase(@Param("joinCode") String joinCode);
+    @Query("SELECT g.id, g.joinCode FROM Group g")
+    List<Object[]> findAllJoinCodes();
+    
+    // Native so that codes of deleted groups awaiting purge still count as taken
+    @Query(value = "SELECT join_code FROM groups WHERE join_code IN (:codes)", nativeQuery = true)
+    List<String> findExistingJoinCodes(@Param("codes") Collection<String> codes);
 }
@@ -0,0 +1,17 @@
+package com.classHub.classHub.repo;
+
+import com.classHub.classHub.entity.TimelineEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, TimelineEntry.Key> {
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.announcementId = :announcementId")
+    int deleteByAnnouncementId(@Param("announcementId") Long announcementId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.studentId = :studentId AND t.groupId = :groupId")
+    int deleteByStudentIdAndGroupId(@Param("studentId") Long studentId, @Param("groupId") Long groupId);
+}
@@ -2,7 +2,13 @@ package com.classHub.classHub.repo;
 
 import com.classHub.classHub.entity.User;
 import com.classHub.classHub.entity.Role;
+import com.classHub.classHub.pojoResponse.AuthorSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +17,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
     boolean existsByEmail(String email);
     Optional<User> findById(Long id);
+
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.classHub.classHub.pojoResponse.AuthorSummary(u.id, u.firstName, u.lastName, u.role) FROM User u WHERE u.id IN :ids")
+    List<AuthorSummary> findAuthorSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
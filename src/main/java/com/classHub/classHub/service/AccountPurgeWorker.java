@@ -0,0 +1,166 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.config.TokenVersionRegistry;
+import com.classHub.classHub.entity.AccountPurgeJob;
+import com.classHub.classHub.entity.AccountPurgeJob.Phase;
+import com.classHub.classHub.repo.AccountPurgeJobRepository;
+import com.classHub.classHub.service.ActivityCounters.Counter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Works through pending account purge jobs. Each phase removes one kind of row with set-based
+ * deletes in bounded chunks and every chunk is checkpointed, so a job interrupted by a restart
+ * simply picks up again on the next run.
+ */
+@Component
+public class AccountPurgeWorker {
+
+    private static final String DELETE_USER_COMMENTS =
+            "DELETE FROM comments WHERE id IN (SELECT id FROM comments WHERE user_id = ? LIMIT ?) RETURNING announcement_id";
+    private static final String DELETE_ANNOUNCEMENT_COMMENTS =
+            "DELETE FROM comments WHERE id IN (SELECT c.id FROM comments c "
+            + "JOIN announcements a ON a.id = c.announcement_id WHERE a.teacher_id = ? LIMIT ?) RETURNING announcement_id";
+    private static final String DELETE_STUDENT_TIMELINE =
+            "DELETE FROM timeline_entries WHERE (student_id, announcement_id) IN "
+            + "(SELECT student_id, announcement_id FROM timeline_entries WHERE student_id = ? LIMIT ?) RETURNING announcement_id";
+    private static final String DELETE_ANNOUNCEMENT_TIMELINE =
+            "DELETE FROM timeline_entries WHERE (student_id, announcement_id) IN (SELECT t.student_id, t.announcement_id "
+            + "FROM timeline_entries t JOIN announcements a ON a.id = t.announcement_id WHERE a.teacher_id = ? LIMIT ?) "
+            + "RETURNING announcement_id";
+    // Also sweeps comments posted on the chunk's announcements after the previous phase ran, and their attachments
+    private static final String DELETE_ANNOUNCEMENTS =
+            "WITH doomed AS (SELECT id FROM announcements WHERE teacher_id = ? LIMIT ?), "
+            + "stragglers AS (DELETE FROM comments WHERE announcement_id IN (SELECT id FROM doomed)), "
+            + "files AS (DELETE FROM attachments WHERE announcement_id IN (SELECT id FROM doomed)) "
+            + "DELETE FROM announcements WHERE id IN (SELECT id FROM doomed) RETURNING group_id";
+    private static final String DELETE_ENROLLMENTS =
+            "DELETE FROM enrollments WHERE id IN (SELECT id FROM enrollments WHERE student_id = ? LIMIT ?) RETURNING group_id";
+
+    @Autowired
+    private AccountPurgeJobRepository accountPurgeJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GroupPurger groupPurger;
+
+    @Autowired
+    private JoinCodeDirectory joinCodeDirectory;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private AuthorSummaryCache authorSummaryCache;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+
+    @Value("${account.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${account.purge.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${account.purge.retry-base-ms:5000}")
+    private long retryBaseMs;
+
+    @Value("${account.purge.retry-max-ms:3600000}")
+    private long retryMaxMs;
+
+    @Scheduled(fixedDelayString = "${account.purge.interval-ms:5000}")
+    public void runPending() {
+        LocalDateTime now = LocalDateTime.now();
+        for (AccountPurgeJob job : accountPurgeJobRepository.findByPhaseNotInOrderByCreatedAtAsc(AccountPurgeJob.FINISHED)) {
+            if (job.getAttempts() > 0 && job.getUpdatedAt().plus(retryDelay(job.getAttempts()), ChronoUnit.MILLIS).isAfter(now)) {
+                continue;
+            }
+            try {
+                run(job);
+            } catch (RuntimeException e) {
+                // Left in its current phase; a later run retries from the last checkpoint
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLastError(e.getMessage());
+                if (job.getAttempts() >= maxAttempts) job.setPhase(Phase.FAILED);
+                checkpoint(job);
+            }
+        }
+    }
+
+    /** Doubles with every consecutive failure, up to the configured maximum. */
+    long retryDelay(int attempts) {
+        return Math.min(retryMaxMs, retryBaseMs << Math.min(attempts - 1, 20));
+    }
+
+    private void run(AccountPurgeJob job) {
+        Long userId = job.getUserId();
+        while (job.getPhase() != Phase.DONE) {
+            switch (job.getPhase()) {
+                case USER_COMMENTS -> deleteInChunks(job, DELETE_USER_COMMENTS, Counter.ANNOUNCEMENT_COMMENTS, parentId -> { });
+                case ANNOUNCEMENT_COMMENTS -> deleteInChunks(job, DELETE_ANNOUNCEMENT_COMMENTS, Counter.ANNOUNCEMENT_COMMENTS, parentId -> { });
+                case STUDENT_TIMELINE -> deleteInChunks(job, DELETE_STUDENT_TIMELINE, null, parentId -> { });
+                case ANNOUNCEMENT_TIMELINE -> deleteInChunks(job, DELETE_ANNOUNCEMENT_TIMELINE, null, parentId -> { });
+                case ANNOUNCEMENTS -> deleteInChunks(job, DELETE_ANNOUNCEMENTS, Counter.GROUP_ANNOUNCEMENTS, parentId -> { });
+                case ENROLLMENTS -> deleteInChunks(job, DELETE_ENROLLMENTS, Counter.GROUP_MEMBERS,
+                        groupId -> groupMembershipIndex.removeMember(groupId, userId));
+                case GROUPS -> {
+                    jdbcTemplate.query(
+                            "UPDATE groups SET deleted_at = ? WHERE teacher_id = ? AND deleted_at IS NULL RETURNING id, join_code",
+                            rs -> {
+                                joinCodeDirectory.remove(rs.getString("join_code"));
+                                groupMembershipIndex.removeGroup(rs.getLong("id"));
+                            }, Timestamp.valueOf(LocalDateTime.now()), userId);
+                    job.setDeletedRows(job.getDeletedRows() + groupPurger.purgeForTeacher(userId));
+                }
+                case ACCOUNT -> {
+                    job.setDeletedRows(job.getDeletedRows() + jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId));
+                    tokenVersionRegistry.evict(userId);
+                    authorSummaryCache.invalidate(userId);
+                    job.setCompletedAt(LocalDateTime.now());
+                }
+                default -> throw new IllegalStateException("Unexpected phase " + job.getPhase());
+            }
+            job.setPhase(Phase.values()[job.getPhase().ordinal() + 1]);
+            job.setAttempts(0);
+            job.setLastError(null);
+            checkpoint(job);
+        }
+    }
+
+    /**
+     * Runs a chunked delete whose rows return the id of the parent whose counter they belong to.
+     * Rows that are not counted pass a null counter.
+     */
+    private void deleteInChunks(AccountPurgeJob job, String sql, Counter counter, Consumer<Long> onDeleted) {
+        int deleted;
+        do {
+            List<Long> parents = jdbcTemplate.queryForList(sql, Long.class, job.getUserId(), chunkSize);
+            parents.forEach(parentId -> {
+                if (counter != null) activityCounters.add(counter, parentId, -1);
+                onDeleted.accept(parentId);
+            });
+            deleted = parents.size();
+            job.setDeletedRows(job.getDeletedRows() + deleted);
+            checkpoint(job);
+        } while (deleted >= chunkSize);
+    }
+
+    private void checkpoint(AccountPurgeJob job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        accountPurgeJobRepository.save(job);
+    }
+}
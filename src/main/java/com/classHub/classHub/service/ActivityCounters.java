@@ -0,0 +1,113 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.entity.Announcement;
+import com.classHub.classHub.entity.Group;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates changes to the denormalized member, announcement and comment counts in striped
+ * {@link LongAdder}s and folds them into the counter columns periodically. Reads add the
+ * pending delta to the column value, so listings show current counts without a COUNT query.
+ */
+@Component
+public class ActivityCounters {
+
+    public enum Counter {
+        GROUP_MEMBERS("UPDATE groups SET member_count = member_count + ? WHERE id = ?"),
+        GROUP_ANNOUNCEMENTS("UPDATE groups SET announcement_count = announcement_count + ? WHERE id = ?"),
+        ANNOUNCEMENT_COMMENTS("UPDATE announcements SET comment_count = comment_count + ? WHERE id = ?");
+
+        private final String sql;
+
+        Counter(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    private final Map<Counter, ConcurrentHashMap<Long, LongAdder>> pending = new EnumMap<>(Counter.class);
+
+    // Adders dropped from the maps at the last flush; drained once more in case a writer still held one
+    private final Map<Counter, List<Map.Entry<Long, LongAdder>>> retired = new EnumMap<>(Counter.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public ActivityCounters() {
+        for (Counter counter : Counter.values()) {
+            pending.put(counter, new ConcurrentHashMap<>());
+            retired.put(counter, new ArrayList<>());
+        }
+    }
+
+    public void add(Counter counter, Long id, long delta) {
+        if (id == null || delta == 0) return;
+        pending.get(counter).computeIfAbsent(id, key -> new LongAdder()).add(delta);
+    }
+
+    public long memberCount(Group group) {
+        return current(Counter.GROUP_MEMBERS, group.getId(), group.getMemberCount());
+    }
+
+    public long announcementCount(Group group) {
+        return current(Counter.GROUP_ANNOUNCEMENTS, group.getId(), group.getAnnouncementCount());
+    }
+
+    public long commentCount(Announcement announcement) {
+        return current(Counter.ANNOUNCEMENT_COMMENTS, announcement.getId(), announcement.getCommentCount());
+    }
+
+    public long count(Counter counter, Long id, long stored) {
+        return current(counter, id, stored);
+    }
+
+    private long current(Counter counter, Long id, Long stored) {
+        LongAdder adder = pending.get(counter).get(id);
+        return (stored == null ? 0 : stored) + (adder == null ? 0 : adder.sum());
+    }
+
+    @Scheduled(fixedDelayString = "${counters.flush-interval-ms:2000}")
+    @PreDestroy
+    public synchronized void flush() {
+        for (Counter counter : Counter.values()) {
+            Map<Long, Long> deltas = new HashMap<>();
+            List<Map.Entry<Long, LongAdder>> stale = retired.get(counter);
+            for (Map.Entry<Long, LongAdder> entry : stale) {
+                long late = entry.getValue().sumThenReset();
+                if (late != 0) deltas.merge(entry.getKey(), late, Long::sum);
+            }
+            stale.clear();
+
+            ConcurrentHashMap<Long, LongAdder> adders = pending.get(counter);
+            for (Map.Entry<Long, LongAdder> entry : adders.entrySet()) {
+                long delta = entry.getValue().sumThenReset();
+                if (delta != 0) {
+                    deltas.merge(entry.getKey(), delta, Long::sum);
+                } else if (adders.remove(entry.getKey(), entry.getValue())) {
+                    stale.add(entry);
+                }
+            }
+            if (deltas.isEmpty()) continue;
+
+            List<Object[]> args = new ArrayList<>(deltas.size());
+            deltas.forEach((id, delta) -> args.add(new Object[]{delta, id}));
+            try {
+                jdbcTemplate.batchUpdate(counter.sql, args);
+            } catch (RuntimeException e) {
+                // Put the deltas back so they are retried on the next flush
+                deltas.forEach((id, delta) -> add(counter, id, delta));
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.classHub.classHub.service;
 import com.classHub.classHub.entity.Announcement;
 import com.classHub.classHub.entity.Group;
 import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.CursorPage;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +15,7 @@ public interface AnnouncementService {
     void deleteAnnouncement(Long id, User teacher);
     List<Announcement> getAnnouncementsForGroup(Group group);
     Page<Announcement> getAnnouncementsForGroupPaginated(Group group, Pageable pageable);
+    CursorPage<Announcement> getAnnouncementsForGroup(Group group, PageCursor cursor, int size);
     List<Announcement> getAnnouncementsForTeacher(User teacher);
     Announcement getAnnouncementById(Long id);
 } 
\ No newline at end of file
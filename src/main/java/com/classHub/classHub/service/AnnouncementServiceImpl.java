@@ -3,18 +3,34 @@ package com.classHub.classHub.service;
 import com.classHub.classHub.entity.Announcement;
 import com.classHub.classHub.entity.Group;
 import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.CursorPage;
 import com.classHub.classHub.repo.AnnouncementRepository;
+import com.classHub.classHub.repo.AttachmentRepository;
+import com.classHub.classHub.repo.TimelineEntryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AnnouncementServiceImpl implements AnnouncementService {
     @Autowired
     private AnnouncementRepository announcementRepository;
+    @Autowired
+    private ActivityCounters activityCounters;
+    @Autowired
+    private TimelineService timelineService;
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+    @Autowired
+    private GroupEventDispatcher groupEventDispatcher;
+    @Autowired
+    private AttachmentRepository attachmentRepository;
 
     @Override
     @Transactional
@@ -23,7 +39,13 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         announcement.setContent(content);
         announcement.setGroup(group);
         announcement.setTeacher(teacher);
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        AfterCommit.run(() -> {
+            activityCounters.add(ActivityCounters.Counter.GROUP_ANNOUNCEMENTS, group.getId(), 1);
+            timelineService.enqueue(saved.getId(), group.getId(), saved.getCreatedAt());
+            groupEventDispatcher.publish(group.getId(), "announcement.created", eventData(saved));
+        });
+        return saved;
     }
 
     @Override
@@ -32,7 +54,10 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         Announcement announcement = announcementRepository.findById(id).orElseThrow();
         if (!announcement.getTeacher().getId().equals(teacher.getId())) throw new RuntimeException("Not your announcement");
         announcement.setContent(content);
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        Map<String, Object> event = eventData(saved);
+        AfterCommit.run(() -> groupEventDispatcher.publish(saved.getGroup().getId(), "announcement.updated", event));
+        return saved;
     }
 
     @Override
@@ -40,7 +65,14 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     public void deleteAnnouncement(Long id, User teacher) {
         Announcement announcement = announcementRepository.findById(id).orElseThrow();
         if (!announcement.getTeacher().getId().equals(teacher.getId())) throw new RuntimeException("Not your announcement");
+        timelineEntryRepository.deleteByAnnouncementId(id);
+        attachmentRepository.deleteByAnnouncementId(id);
         announcementRepository.delete(announcement);
+        Long groupId = announcement.getGroup().getId();
+        AfterCommit.run(() -> {
+            activityCounters.add(ActivityCounters.Counter.GROUP_ANNOUNCEMENTS, groupId, -1);
+            groupEventDispatcher.publish(groupId, "announcement.deleted", Map.of("id", id, "groupId", groupId));
+        });
     }
 
     @Override
@@ -53,6 +85,15 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         return announcementRepository.findByGroupOrderByCreatedAtDesc(group, pageable);
     }
 
+    @Override
+    public CursorPage<Announcement> getAnnouncementsForGroup(Group group, PageCursor cursor, int size) {
+        Pageable limit = CursorPage.fetchLimit(size);
+        List<Announcement> rows = cursor == null
+            ? announcementRepository.findByGroupOrderByCreatedAtDescIdDesc(group, limit)
+            : announcementRepository.findByGroupBefore(group, cursor.getKeyAsDateTime(), cursor.getId(), limit);
+        return CursorPage.of(rows, size, announcement -> PageCursor.encode(announcement.getCreatedAt(), announcement.getId()));
+    }
+
     @Override
     public List<Announcement> getAnnouncementsForTeacher(User teacher) {
         return announcementRepository.findByTeacher(teacher);
@@ -60,6 +101,18 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     @Override
     public Announcement getAnnouncementById(Long id) {
-        return announcementRepository.findById(id).orElseThrow();
+        return announcementRepository.findById(id)
+            .filter(announcement -> announcement.getGroup().getDeletedAt() == null)
+            .orElseThrow();
+    }
+
+    private static Map<String, Object> eventData(Announcement announcement) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", announcement.getId());
+        data.put("groupId", announcement.getGroup().getId());
+        data.put("content", announcement.getContent());
+        data.put("createdAt", announcement.getCreatedAt());
+        data.put("teacherId", announcement.getTeacher() == null ? null : announcement.getTeacher().getId());
+        return data;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.entity.Attachment;
+import com.classHub.classHub.entity.User;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface AttachmentService {
+    Attachment addAttachment(Long announcementId, String fileName, String contentType, InputStream content, long declaredLength, User teacher) throws IOException;
+    List<Attachment> getAttachmentsForAnnouncement(Long announcementId);
+    Attachment getAttachmentById(Long id);
+    void deleteAttachment(Long id, User teacher);
+}
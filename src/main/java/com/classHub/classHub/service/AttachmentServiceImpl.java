@@ -0,0 +1,98 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.entity.Announcement;
+import com.classHub.classHub.entity.Attachment;
+import com.classHub.classHub.entity.User;
+import com.classHub.classHub.exception.PayloadTooLargeException;
+import com.classHub.classHub.repo.AnnouncementRepository;
+import com.classHub.classHub.repo.AttachmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Service
+public class AttachmentServiceImpl implements AttachmentService {
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Value("${attachments.max-size-bytes:52428800}")
+    private long maxSizeBytes;
+
+    @Value("${attachments.max-per-announcement:20}")
+    private int maxPerAnnouncement;
+
+    // Not transactional: the upload may stream for a while and must not hold a connection meanwhile
+    @Override
+    public Attachment addAttachment(Long announcementId, String fileName, String contentType, InputStream content,
+                                    long declaredLength, User teacher) throws IOException {
+        Announcement announcement = announcementRepository.findById(announcementId)
+            .filter(found -> found.getGroup().getDeletedAt() == null)
+            .orElseThrow(() -> new RuntimeException("Announcement not found"));
+        if (!announcement.getTeacher().getId().equals(teacher.getId())) throw new RuntimeException("Not your announcement");
+        if (declaredLength > maxSizeBytes) throw new PayloadTooLargeException("Attachments are limited to " + maxSizeBytes + " bytes");
+        if (attachmentRepository.countByAnnouncementId(announcementId) >= maxPerAnnouncement) {
+            throw new RuntimeException("An announcement can have at most " + maxPerAnnouncement + " attachments");
+        }
+
+        AttachmentStorage.StoredBlob blob = attachmentStorage.store(content, maxSizeBytes);
+
+        Attachment attachment = new Attachment();
+        attachment.setAnnouncement(announcement);
+        attachment.setSha256(blob.sha256());
+        attachment.setSize(blob.size());
+        attachment.setFileName(sanitizeFileName(fileName));
+        attachment.setContentType(normalizeContentType(contentType));
+        return attachmentRepository.save(attachment);
+    }
+
+    @Override
+    public List<Attachment> getAttachmentsForAnnouncement(Long announcementId) {
+        return attachmentRepository.findByAnnouncementIdOrderByIdAsc(announcementId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Attachment getAttachmentById(Long id) {
+        return attachmentRepository.findById(id)
+            .filter(attachment -> attachment.getAnnouncement().getGroup().getDeletedAt() == null)
+            .orElseThrow(() -> new RuntimeException("Attachment not found"));
+    }
+
+    // The blob itself stays until AttachmentStorage.sweep() finds it unreferenced
+    @Override
+    @Transactional
+    public void deleteAttachment(Long id, User teacher) {
+        Attachment attachment = getAttachmentById(id);
+        if (!attachment.getAnnouncement().getTeacher().getId().equals(teacher.getId())) {
+            throw new RuntimeException("Not your announcement");
+        }
+        attachmentRepository.delete(attachment);
+    }
+
+    private static String sanitizeFileName(String fileName) {
+        if (fileName == null) return "attachment";
+        String name = fileName.replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1).replaceAll("\\p{Cntrl}", "").trim();
+        if (name.isEmpty()) return "attachment";
+        return name.length() > 255 ? name.substring(0, 255) : name;
+    }
+
+    private static String normalizeContentType(String contentType) {
+        if (contentType == null) return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        try {
+            return MediaType.parseMediaType(contentType).toString();
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.exception.PayloadTooLargeException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file store for attachments: each file lives once under ab/cd/&lt;sha256&gt;.
+ * Uploads are hashed while they are streamed to a temporary file, then renamed into place, so a
+ * blob is either complete or absent. Blobs are never deleted inline; the sweep removes those no
+ * attachment row refers to once they are older than the grace period.
+ */
+@Component
+public class AttachmentStorage {
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    public record StoredBlob(String sha256, long size) {
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${attachments.storage-dir:data/attachments}")
+    private String storageDir;
+
+    @Value("${attachments.sweep-grace-ms:3600000}")
+    private long sweepGraceMs;
+
+    private Path root;
+    private Path incoming;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(storageDir).toAbsolutePath().normalize();
+        incoming = root.resolve("incoming");
+        Files.createDirectories(incoming);
+    }
+
+    public StoredBlob store(InputStream content, long maxBytes) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            byte[] buffer = new byte[64 * 1024];
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) throw new PayloadTooLargeException("Attachments are limited to " + maxBytes + " bytes");
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) out.write(chunk);
+                }
+                out.force(true);
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = path(sha256);
+            if (Files.exists(target)) {
+                // Already stored; touching it keeps the sweep away until the new row is committed
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                Files.createDirectories(target.getParent());
+                // Same filesystem as incoming/, so this is a rename; a concurrent upload of the same bytes is harmless
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredBlob(sha256, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path path(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) throw new IllegalArgumentException("Invalid blob id");
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    @Scheduled(fixedDelayString = "${attachments.sweep-interval-ms:3600000}")
+    public void sweep() throws IOException {
+        long cutoff = System.currentTimeMillis() - sweepGraceMs;
+        List<Path> candidates = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> olderThan(file, cutoff))
+                    .forEach(file -> {
+                        if (file.startsWith(incoming)) {
+                            // Left behind by an upload that died mid-stream
+                            deleteQuietly(file);
+                        } else if (SHA256.matcher(file.getFileName().toString()).matches()) {
+                            candidates.add(file);
+                            if (candidates.size() >= 500) deleteUnreferenced(candidates, cutoff);
+                        }
+                    });
+        }
+        deleteUnreferenced(candidates, cutoff);
+    }
+
+    private void deleteUnreferenced(List<Path> candidates, long cutoff) {
+        if (candidates.isEmpty()) return;
+        List<String> hashes = candidates.stream().map(file -> file.getFileName().toString()).toList();
+        Set<String> referenced = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT DISTINCT sha256 FROM attachments WHERE sha256 IN (:hashes)",
+                Map.of("hashes", hashes), String.class));
+        candidates.stream()
+                .filter(file -> !referenced.contains(file.getFileName().toString()))
+                // An upload of the same bytes may have touched it after the walk; its row is not committed yet
+                .filter(file -> olderThan(file, cutoff))
+                .forEach(this::deleteQuietly);
+        candidates.clear();
+    }
+
+    private static boolean olderThan(Path file, long cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() < cutoff;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Retried on the next sweep
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
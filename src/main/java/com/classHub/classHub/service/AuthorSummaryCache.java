@@ -0,0 +1,88 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.pojoResponse.AuthorSummary;
+import com.classHub.classHub.repo.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of author summaries keyed by user id. Pages resolve all of their
+ * authors with {@link #getAll(Collection)}, which loads every miss in one query.
+ * The least recently used summary is evicted when the cache is full.
+ */
+@Component
+public class AuthorSummaryCache {
+
+    // Access-ordered; guarded by its own monitor
+    private final Map<Long, AuthorSummary> summaries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, AuthorSummary> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    // Bumped by every invalidation, so a load that raced with a profile update is not cached
+    private long generation;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${author-cache.max-entries:50000}")
+    private int maxEntries;
+
+    public AuthorSummary get(Long userId) {
+        if (userId == null) return null;
+        AuthorSummary summary;
+        synchronized (summaries) {
+            summary = summaries.get(userId);
+        }
+        if (summary != null) return summary;
+        return getAll(List.of(userId)).get(userId);
+    }
+
+    /** The summary as an embeddable map, or null when the user no longer exists. */
+    public Map<String, Object> asMap(Long userId) {
+        AuthorSummary summary = get(userId);
+        return summary == null ? null : summary.asMap();
+    }
+
+    public Map<Long, AuthorSummary> getAll(Collection<Long> userIds) {
+        Map<Long, AuthorSummary> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long loadedAt;
+        synchronized (summaries) {
+            for (Long userId : userIds) {
+                if (userId == null || result.containsKey(userId)) continue;
+                AuthorSummary summary = summaries.get(userId);
+                if (summary != null) result.put(userId, summary);
+                else if (!missing.contains(userId)) missing.add(userId);
+            }
+            loadedAt = generation;
+        }
+        if (!missing.isEmpty()) {
+            List<AuthorSummary> loaded = userRepository.findAuthorSummariesByIdIn(missing);
+            synchronized (summaries) {
+                for (AuthorSummary summary : loaded) {
+                    result.put(summary.getId(), summary);
+                    if (generation == loadedAt) summaries.put(summary.getId(), summary);
+                }
+            }
+        }
+        return result;
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (summaries) {
+            generation++;
+            summaries.remove(userId);
+        }
+    }
+}
@@ -3,7 +3,12 @@ package com.classHub.classHub.service;
 import com.classHub.classHub.entity.Comment;
 import com.classHub.classHub.entity.Announcement;
 import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.CommentPreview;
+import com.classHub.classHub.pojoResponse.CursorPage;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,8 +16,11 @@ public interface CommentService {
     Comment addComment(String content, Announcement announcement, User user);
     List<Comment> getCommentsForAnnouncement(Announcement announcement);
     Page<Comment> getCommentsForAnnouncementPaginated(Announcement announcement, Pageable pageable);
+    CursorPage<Comment> getCommentsForAnnouncement(Announcement announcement, PageCursor cursor, int size);
     List<Comment> getCommentsByUser(User user);
+    CursorPage<Comment> getCommentsByUser(User user, PageCursor cursor, int size);
     Comment updateComment(Long id, String content, User user);
     void deleteComment(Long id, User user);
     Comment getCommentById(Long id);
+    Map<Long, List<CommentPreview>> getLatestComments(Collection<Long> announcementIds, int perAnnouncement);
 } 
\ No newline at end of file
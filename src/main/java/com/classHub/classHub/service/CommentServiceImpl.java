@@ -3,18 +3,41 @@ package com.classHub.classHub.service;
 import com.classHub.classHub.entity.Comment;
 import com.classHub.classHub.entity.Announcement;
 import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.CommentPreview;
+import com.classHub.classHub.pojoResponse.CursorPage;
 import com.classHub.classHub.repo.CommentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class CommentServiceImpl implements CommentService {
+    private static final String LATEST_COMMENTS_SQL =
+        "SELECT id, announcement_id, content, created_at, user_id FROM ("
+        + "SELECT c.id, c.announcement_id, c.content, c.created_at, c.user_id, "
+        + "ROW_NUMBER() OVER (PARTITION BY c.announcement_id ORDER BY c.created_at DESC, c.id DESC) AS rn "
+        + "FROM comments c WHERE c.announcement_id IN (:announcementIds)"
+        + ") latest WHERE rn <= :perAnnouncement ORDER BY announcement_id, rn";
+
     @Autowired
     private CommentRepository commentRepository;
+    @Autowired
+    private ActivityCounters activityCounters;
+    @Autowired
+    private GroupEventDispatcher groupEventDispatcher;
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     @Override
     @Transactional
@@ -23,7 +46,13 @@ public class CommentServiceImpl implements CommentService {
         comment.setContent(content);
         comment.setAnnouncement(announcement);
         comment.setUser(user);
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        Map<String, Object> event = eventData(saved);
+        AfterCommit.run(() -> {
+            activityCounters.add(ActivityCounters.Counter.ANNOUNCEMENT_COMMENTS, announcement.getId(), 1);
+            groupEventDispatcher.publish(announcement.getGroup().getId(), "comment.created", event);
+        });
+        return saved;
     }
 
     @Override
@@ -36,9 +65,27 @@ public class CommentServiceImpl implements CommentService {
         return commentRepository.findByAnnouncementOrderByCreatedAtDesc(announcement, pageable);
     }
 
+    @Override
+    public CursorPage<Comment> getCommentsForAnnouncement(Announcement announcement, PageCursor cursor, int size) {
+        Pageable limit = CursorPage.fetchLimit(size);
+        List<Comment> rows = cursor == null
+            ? commentRepository.findByAnnouncementOrderByCreatedAtDescIdDesc(announcement, limit)
+            : commentRepository.findByAnnouncementBefore(announcement, cursor.getKeyAsDateTime(), cursor.getId(), limit);
+        return CursorPage.of(rows, size, comment -> PageCursor.encode(comment.getCreatedAt(), comment.getId()));
+    }
+
     @Override
     public List<Comment> getCommentsByUser(User user) {
-        return commentRepository.findByUser(user);
+        return commentRepository.findByUserAndAnnouncementGroupDeletedAtIsNull(user);
+    }
+
+    @Override
+    public CursorPage<Comment> getCommentsByUser(User user, PageCursor cursor, int size) {
+        Pageable limit = CursorPage.fetchLimit(size);
+        List<Comment> rows = cursor == null
+            ? commentRepository.findByUserNewestFirst(user, limit)
+            : commentRepository.findByUserBefore(user, cursor.getKeyAsDateTime(), cursor.getId(), limit);
+        return CursorPage.of(rows, size, comment -> PageCursor.encode(comment.getCreatedAt(), comment.getId()));
     }
 
     @Override
@@ -52,7 +99,11 @@ public class CommentServiceImpl implements CommentService {
         }
         
         comment.setContent(content);
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        Map<String, Object> event = eventData(saved);
+        Long groupId = saved.getAnnouncement().getGroup().getId();
+        AfterCommit.run(() -> groupEventDispatcher.publish(groupId, "comment.updated", event));
+        return saved;
     }
 
     @Override
@@ -68,11 +119,46 @@ public class CommentServiceImpl implements CommentService {
         }
         
         commentRepository.delete(comment);
+        Long announcementId = comment.getAnnouncement().getId();
+        Long groupId = comment.getAnnouncement().getGroup().getId();
+        AfterCommit.run(() -> {
+            activityCounters.add(ActivityCounters.Counter.ANNOUNCEMENT_COMMENTS, announcementId, -1);
+            groupEventDispatcher.publish(groupId, "comment.deleted",
+                Map.of("id", id, "announcementId", announcementId, "groupId", groupId));
+        });
     }
 
     @Override
     public Comment getCommentById(Long id) {
         return commentRepository.findById(id)
+            .filter(comment -> comment.getAnnouncement().getGroup().getDeletedAt() == null)
             .orElseThrow(() -> new RuntimeException("Comment not found"));
     }
+
+    @Override
+    public Map<Long, List<CommentPreview>> getLatestComments(Collection<Long> announcementIds, int perAnnouncement) {
+        Map<Long, List<CommentPreview>> latest = new HashMap<>();
+        if (announcementIds.isEmpty() || perAnnouncement <= 0) return latest;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("announcementIds", announcementIds)
+            .addValue("perAnnouncement", perAnnouncement);
+        namedParameterJdbcTemplate.query(LATEST_COMMENTS_SQL, params, rs -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            CommentPreview preview = new CommentPreview(rs.getLong("id"), rs.getLong("announcement_id"),
+                rs.getString("content"), createdAt == null ? null : createdAt.toLocalDateTime(),
+                rs.getObject("user_id", Long.class));
+            latest.computeIfAbsent(preview.getAnnouncementId(), id -> new ArrayList<>()).add(preview);
+        });
+        return latest;
+    }
+
+    private static Map<String, Object> eventData(Comment comment) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", comment.getId());
+        data.put("announcementId", comment.getAnnouncement().getId());
+        data.put("content", comment.getContent());
+        data.put("createdAt", comment.getCreatedAt());
+        data.put("userId", comment.getUser() == null ? null : comment.getUser().getId());
+        return data;
+    }
 } 
\ No newline at end of file
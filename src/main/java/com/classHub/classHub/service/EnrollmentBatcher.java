@@ -0,0 +1,180 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.exception.ServiceBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coalesces concurrent join requests into multi-row upserts. Requests arriving within a short
+ * window are written with one {@code INSERT ... ON CONFLICT DO NOTHING} statement, so a burst of
+ * students joining the same group costs a handful of statements and duplicates are no-ops
+ * instead of constraint violations.
+ */
+@Service
+public class EnrollmentBatcher {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Value("${enrollment.batch.window-ms:5}")
+    private long windowMs;
+
+    @Value("${enrollment.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${enrollment.batch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${enrollment.batch.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private BlockingQueue<Request> queue;
+    private Thread flusher;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        flusher = new Thread(this::run, "enrollment-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.interrupt();
+    }
+
+    /**
+     * Enrolls the student and waits for the batch to be written.
+     * Returns true when a new enrollment was created, false when it already existed.
+     */
+    public boolean enroll(Long groupId, Long studentId) {
+        CompletableFuture<Boolean> result = submit(groupId, studentId);
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("Joining is taking longer than expected. Please try again shortly.", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Join interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException("Could not join group", e.getCause());
+        }
+    }
+
+    public CompletableFuture<Boolean> submit(Long groupId, Long studentId) {
+        Request request = new Request(new Key(groupId, studentId), new CompletableFuture<>());
+        if (!queue.offer(request)) {
+            throw new ServiceBusyException("Too many join requests in progress. Please try again shortly.", 1);
+        }
+        return request.result;
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        queue.drainTo(batch);
+        batch.forEach(request -> request.result.completeExceptionally(new RuntimeException("Server is shutting down")));
+    }
+
+    private void flush(List<Request> batch) {
+        Map<Key, List<Request>> byKey = new LinkedHashMap<>();
+        for (Request request : batch) {
+            byKey.computeIfAbsent(request.key, key -> new ArrayList<>(1)).add(request);
+        }
+        try {
+            Set<Key> inserted = insert(byKey.keySet());
+            byKey.forEach((key, requests) -> complete(requests, inserted.contains(key)));
+        } catch (DataAccessException e) {
+            // One bad row (e.g. a group deleted mid-burst) must not fail everyone else in the batch
+            byKey.forEach((key, requests) -> {
+                try {
+                    complete(requests, !insert(Set.of(key)).isEmpty());
+                } catch (RuntimeException rowFailure) {
+                    requests.forEach(request -> request.result.completeExceptionally(rowFailure));
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.forEach(request -> request.result.completeExceptionally(e));
+        }
+    }
+
+    private Set<Key> insert(Set<Key> keys) {
+        StringBuilder sql = new StringBuilder("INSERT INTO enrollments (group_id, student_id, enrolled_at) VALUES ");
+        List<Object> args = new ArrayList<>(keys.size() * 3);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Key key : keys) {
+            sql.append(args.isEmpty() ? "" : ", ").append("(?, ?, ?)");
+            args.add(key.groupId);
+            args.add(key.studentId);
+            args.add(now);
+        }
+        sql.append(" ON CONFLICT (group_id, student_id) DO NOTHING RETURNING group_id, student_id");
+        Set<Key> inserted = new HashSet<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            inserted.add(new Key(rs.getLong("group_id"), rs.getLong("student_id")));
+        }, args.toArray());
+        inserted.forEach(key -> {
+            activityCounters.add(ActivityCounters.Counter.GROUP_MEMBERS, key.groupId, 1);
+            groupMembershipIndex.addMember(key.groupId, key.studentId);
+            timelineService.backfill(key.groupId, List.of(key.studentId));
+        });
+        return inserted;
+    }
+
+    private static void complete(List<Request> requests, boolean inserted) {
+        requests.forEach(request -> request.result.complete(inserted));
+    }
+
+    private record Key(Long groupId, Long studentId) {
+    }
+
+    private record Request(Key key, CompletableFuture<Boolean> result) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.classHub.classHub.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes group activity to Server-Sent Events subscribers. Every subscriber has a small bounded
+ * queue drained by a shared sender pool, so publishing never blocks on a client; a subscriber
+ * whose queue overflows is disconnected and resumes with Last-Event-ID from the group's replay
+ * buffer. When the events it missed are no longer buffered it gets a "reset" event and should
+ * reload the group instead. A channel without subscribers is dropped once it has been idle for
+ * {@code events.channel-idle-ms}, together with its replay buffer.
+ */
+@Component
+public class GroupEventDispatcher {
+
+    private static final Event HEARTBEAT = new Event(0, null, null);
+
+    private record Event(long id, String name, Object data) {
+    }
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    // Seeded from the clock so ids keep increasing across restarts
+    private final long firstId = System.currentTimeMillis() * 1000;
+    private final AtomicLong nextId = new AtomicLong(firstId);
+
+    private ExecutorService senders;
+
+    @Value("${events.sender-threads:4}")
+    private int senderThreads;
+
+    // Must hold a full replay, or a client far enough behind is dropped while catching up
+    @Value("${events.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${events.replay-size:256}")
+    private int replaySize;
+
+    @Value("${events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${events.channel-idle-ms:600000}")
+    private long channelIdleMs;
+
+    @PostConstruct
+    void start() {
+        if (replaySize > queueCapacity) {
+            throw new IllegalStateException("events.replay-size must not exceed events.queue-capacity");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "group-events-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+        senders.shutdownNow();
+    }
+
+    /** Opens a stream of the group's events, replaying those after {@code lastEventId} when given. */
+    public SseEmitter subscribe(Long groupId, Long userId, Long lastEventId) {
+        SseEmitter emitter = createEmitter();
+        while (true) {
+            Channel channel = channels.computeIfAbsent(groupId, id -> new Channel());
+            synchronized (channel) {
+                // Dropped by heartbeat() or closeGroup() in the meantime
+                if (channel.removed) continue;
+                Subscriber subscriber = new Subscriber(channel, userId, emitter);
+                emitter.onCompletion(subscriber::close);
+                emitter.onTimeout(subscriber::close);
+                emitter.onError(error -> subscriber.close());
+                if (lastEventId != null) {
+                    List<Event> missed = channel.recent.stream().filter(event -> event.id() > lastEventId).toList();
+                    if (lastEventId < channel.droppedUpTo || missed.size() > queueCapacity) {
+                        subscriber.offer(new Event(nextId.incrementAndGet(), "reset", Map.of("groupId", groupId)));
+                    } else {
+                        missed.forEach(subscriber::offer);
+                    }
+                }
+                // Never registered when the replay already closed it, so it cannot keep the channel alive
+                if (!subscriber.closed.get()) channel.subscribers.add(subscriber);
+                channel.lastActive = System.nanoTime();
+                return emitter;
+            }
+        }
+    }
+
+    public void publish(Long groupId, String name, Object data) {
+        while (true) {
+            Channel channel = channels.computeIfAbsent(groupId, id -> new Channel());
+            synchronized (channel) {
+                if (channel.removed) continue;
+                Event event = new Event(nextId.incrementAndGet(), name, data);
+                channel.recent.addLast(event);
+                while (channel.recent.size() > replaySize) channel.droppedUpTo = channel.recent.removeFirst().id();
+                channel.subscribers.forEach(subscriber -> subscriber.offer(event));
+                channel.lastActive = System.nanoTime();
+                return;
+            }
+        }
+    }
+
+    /** Ends the streams of a user who is no longer a member. */
+    public void disconnect(Long groupId, Long userId) {
+        Channel channel = channels.get(groupId);
+        if (channel == null) return;
+        channel.subscribers.forEach(subscriber -> {
+            if (userId.equals(subscriber.userId)) subscriber.close();
+        });
+    }
+
+    public void closeGroup(Long groupId) {
+        Channel channel = channels.remove(groupId);
+        if (channel == null) return;
+        synchronized (channel) {
+            channel.removed = true;
+        }
+        channel.subscribers.forEach(Subscriber::close);
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds clients that went away, then drops
+     * channels that nobody listens to and that have been quiet for a while.
+     */
+    @Scheduled(fixedDelayString = "${events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+        long now = System.nanoTime();
+        channels.forEach((groupId, channel) -> {
+            synchronized (channel) {
+                if (channel.subscribers.isEmpty() && now - channel.lastActive > TimeUnit.MILLISECONDS.toNanos(channelIdleMs)) {
+                    channel.removed = true;
+                    channels.remove(groupId, channel);
+                }
+            }
+        });
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    int channelCount() {
+        return channels.size();
+    }
+
+    private class Channel {
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        // Guarded by the channel's monitor
+        final ArrayDeque<Event> recent = new ArrayDeque<>();
+        // Everything published before the channel was created is not buffered, so older ids get a reset
+        long droppedUpTo = nextId.get();
+        long lastActive = System.nanoTime();
+        boolean removed;
+    }
+
+    private class Subscriber {
+        final Channel channel;
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Channel channel, Long userId, SseEmitter emitter) {
+            this.channel = channel;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Event event) {
+            if (closed.get()) return;
+            if (!queue.offer(event)) {
+                // Too slow to keep up; the client reconnects with Last-Event-ID
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        void drain() {
+            try {
+                Event event;
+                while (!closed.get() && (event = queue.poll()) != null) send(event);
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty()) schedule();
+        }
+
+        void send(Event event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().id(String.valueOf(event.id())).name(event.name()).data(event.data()));
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            channel.subscribers.remove(this);
+            queue.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+}
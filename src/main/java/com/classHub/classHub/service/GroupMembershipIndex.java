@@ -0,0 +1,240 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.exception.ForbiddenException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory view of who may read each group: its teacher and a sorted array of student ids.
+ * Arrays are replaced, never mutated, so membership checks are a lock-free binary search that
+ * allocates nothing. Loaded at startup and kept current by the write paths after commit; since
+ * other nodes change membership too, a group is reloaded once its entry is older than
+ * {@code membership.index.max-age-ms}, and a denied check is confirmed against the database.
+ */
+@Component
+public class GroupMembershipIndex {
+
+    private static final long[] NO_MEMBERS = new long[0];
+
+    private static final String CAN_READ =
+            "SELECT COUNT(*) FROM groups g WHERE g.id = ? AND g.deleted_at IS NULL AND (g.teacher_id = ? "
+            + "OR EXISTS (SELECT 1 FROM enrollments e WHERE e.group_id = g.id AND e.student_id = ?))";
+    private static final String IS_TEACHER =
+            "SELECT COUNT(*) FROM groups WHERE id = ? AND teacher_id = ? AND deleted_at IS NULL";
+
+    // loadedAt is the System.nanoTime() of the database read the entry is based on
+    private record Members(long teacherId, long[] studentIds, long loadedAt) {
+
+        Members withStudents(long[] ids) {
+            return new Members(teacherId, ids, loadedAt);
+        }
+    }
+
+    private final Map<Long, Members> groups = new ConcurrentHashMap<>();
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${membership.index.max-age-ms:30000}")
+    private long maxAgeMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Long, Long> teachers = new HashMap<>();
+        jdbcTemplate.query("SELECT id, teacher_id FROM groups WHERE deleted_at IS NULL",
+                rs -> { teachers.put(rs.getLong("id"), rs.getLong("teacher_id")); });
+        MemberLoader loader = new MemberLoader(teachers, System.nanoTime());
+        jdbcTemplate.query("SELECT e.group_id, e.student_id FROM enrollments e JOIN groups g ON g.id = e.group_id "
+                + "WHERE g.deleted_at IS NULL ORDER BY e.group_id, e.student_id", loader);
+        loader.finish();
+        teachers.forEach((groupId, teacherId) -> groups.putIfAbsent(groupId, new Members(teacherId, NO_MEMBERS, loader.loadedAt)));
+    }
+
+    public boolean isTeacher(Long groupId, Long userId) {
+        Members members = members(groupId);
+        return members != null && userId != null && members.teacherId == userId;
+    }
+
+    public boolean isMember(Long groupId, Long userId) {
+        Members members = members(groupId);
+        return members != null && userId != null && Arrays.binarySearch(members.studentIds, userId) >= 0;
+    }
+
+    public boolean canRead(Long groupId, Long userId) {
+        Members members = members(groupId);
+        if (members == null || userId == null) return false;
+        return members.teacherId == userId || Arrays.binarySearch(members.studentIds, userId) >= 0;
+    }
+
+    /** The group's student ids in ascending order. The array is shared and must not be modified. */
+    public long[] studentIds(Long groupId) {
+        Members members = members(groupId);
+        return members == null ? NO_MEMBERS : members.studentIds;
+    }
+
+    /** Groups with more than {@code minMembers} students that include the given user. */
+    public List<Long> groupsWithMember(Long userId, int minMembers) {
+        List<Long> result = new ArrayList<>();
+        groups.forEach((groupId, members) -> {
+            if (members.studentIds.length > minMembers && Arrays.binarySearch(members.studentIds, userId) >= 0) {
+                result.add(groupId);
+            }
+        });
+        return result;
+    }
+
+    public void checkCanRead(Long groupId, Long userId) {
+        if (canRead(groupId, userId)) return;
+        if (groupId == null || userId == null || !confirm(groupId, CAN_READ, groupId, userId, userId)) {
+            throw new ForbiddenException("You are not a member of this group");
+        }
+    }
+
+    public void checkTeacher(Long groupId, Long userId) {
+        if (isTeacher(groupId, userId)) return;
+        if (groupId == null || userId == null || !confirm(groupId, IS_TEACHER, groupId, userId)) {
+            throw new ForbiddenException("Not your group");
+        }
+    }
+
+    /** Asks the database when the index says no; when it disagrees the entry is stale and reloaded. */
+    private boolean confirm(Long groupId, String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        if (count == null || count == 0) return false;
+        loadGroup(groupId);
+        return true;
+    }
+
+    public void addGroup(Long groupId, Long teacherId) {
+        groups.put(groupId, new Members(teacherId, NO_MEMBERS, System.nanoTime()));
+    }
+
+    public void removeGroup(Long groupId) {
+        groups.remove(groupId);
+    }
+
+    public void addMember(Long groupId, Long studentId) {
+        groups.computeIfPresent(groupId, (id, members) -> {
+            int at = Arrays.binarySearch(members.studentIds, studentId);
+            if (at >= 0) return members;
+            int insertAt = -at - 1;
+            long[] ids = new long[members.studentIds.length + 1];
+            System.arraycopy(members.studentIds, 0, ids, 0, insertAt);
+            ids[insertAt] = studentId;
+            System.arraycopy(members.studentIds, insertAt, ids, insertAt + 1, members.studentIds.length - insertAt);
+            return members.withStudents(ids);
+        });
+    }
+
+    public void addMembers(Long groupId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) return;
+        groups.computeIfPresent(groupId, (id, members) -> {
+            long[] ids = Arrays.copyOf(members.studentIds, members.studentIds.length + studentIds.size());
+            int size = members.studentIds.length;
+            for (Long studentId : studentIds) ids[size++] = studentId;
+            Arrays.sort(ids);
+            return members.withStudents(distinct(ids));
+        });
+    }
+
+    public void removeMember(Long groupId, Long studentId) {
+        groups.computeIfPresent(groupId, (id, members) -> {
+            int at = Arrays.binarySearch(members.studentIds, studentId);
+            if (at < 0) return members;
+            long[] ids = new long[members.studentIds.length - 1];
+            System.arraycopy(members.studentIds, 0, ids, 0, at);
+            System.arraycopy(members.studentIds, at + 1, ids, at, ids.length - at);
+            return members.withStudents(ids);
+        });
+    }
+
+    private Members members(Long groupId) {
+        if (groupId == null) return null;
+        Members members = groups.get(groupId);
+        if (members == null) return loadGroup(groupId);
+        // One caller refreshes an expired entry while the others keep using it
+        if (System.nanoTime() - members.loadedAt > TimeUnit.MILLISECONDS.toNanos(maxAgeMs) && refreshing.add(groupId)) {
+            try {
+                return loadGroup(groupId);
+            } finally {
+                refreshing.remove(groupId);
+            }
+        }
+        return members;
+    }
+
+    /** Groups created, changed or deleted by another node are picked up on access. */
+    private Members loadGroup(Long groupId) {
+        long loadedAt = System.nanoTime();
+        List<Long> teacher = jdbcTemplate.queryForList(
+                "SELECT teacher_id FROM groups WHERE id = ? AND deleted_at IS NULL", Long.class, groupId);
+        if (teacher.isEmpty() || teacher.get(0) == null) {
+            groups.remove(groupId);
+            return null;
+        }
+        long[] ids = jdbcTemplate.queryForList(
+                "SELECT student_id FROM enrollments WHERE group_id = ? ORDER BY student_id", Long.class, groupId)
+                .stream().mapToLong(Long::longValue).toArray();
+        Members members = new Members(teacher.get(0), ids, loadedAt);
+        groups.put(groupId, members);
+        return members;
+    }
+
+    private static long[] distinct(long[] sorted) {
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (size == 0 || sorted[size - 1] != sorted[i]) sorted[size++] = sorted[i];
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    /** Collects the ordered (group, student) stream into one array per group. */
+    private class MemberLoader implements RowCallbackHandler {
+        private final Map<Long, Long> teachers;
+        private final long loadedAt;
+        private long currentGroup = -1;
+        private long[] buffer = new long[64];
+        private int size;
+
+        MemberLoader(Map<Long, Long> teachers, long loadedAt) {
+            this.teachers = teachers;
+            this.loadedAt = loadedAt;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long groupId = rs.getLong("group_id");
+            if (groupId != currentGroup) {
+                finish();
+                currentGroup = groupId;
+            }
+            if (size == buffer.length) buffer = Arrays.copyOf(buffer, size * 2);
+            buffer[size++] = rs.getLong("student_id");
+        }
+
+        void finish() {
+            if (currentGroup >= 0 && teachers.containsKey(currentGroup)) {
+                groups.put(currentGroup, new Members(teachers.get(currentGroup), Arrays.copyOf(buffer, size), loadedAt));
+            }
+            size = 0;
+        }
+    }
+}
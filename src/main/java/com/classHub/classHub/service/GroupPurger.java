@@ -0,0 +1,78 @@
+package com.classHub.classHub.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Removes deleted groups in the background. Children go first with set-based deletes in
+ * bounded chunks, each its own short statement, so no single transaction holds a large group.
+ */
+@Component
+public class GroupPurger {
+
+    private static final String DELETE_TIMELINE_ENTRIES =
+            "DELETE FROM timeline_entries WHERE (student_id, announcement_id) IN "
+            + "(SELECT student_id, announcement_id FROM timeline_entries WHERE group_id = ? LIMIT ?)";
+    private static final String DELETE_COMMENTS =
+            "DELETE FROM comments WHERE id IN (SELECT c.id FROM comments c "
+            + "JOIN announcements a ON a.id = c.announcement_id WHERE a.group_id = ? LIMIT ?)";
+    private static final String DELETE_ATTACHMENTS =
+            "DELETE FROM attachments WHERE id IN (SELECT t.id FROM attachments t "
+            + "JOIN announcements a ON a.id = t.announcement_id WHERE a.group_id = ? LIMIT ?)";
+    private static final String DELETE_ANNOUNCEMENTS =
+            "DELETE FROM announcements WHERE id IN (SELECT id FROM announcements WHERE group_id = ? LIMIT ?)";
+    private static final String DELETE_ENROLLMENTS =
+            "DELETE FROM enrollments WHERE id IN (SELECT id FROM enrollments WHERE group_id = ? LIMIT ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${group.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${group.purge.groups-per-run:20}")
+    private int groupsPerRun;
+
+    @Scheduled(fixedDelayString = "${group.purge.interval-ms:30000}")
+    public void purgeDeleted() {
+        List<Long> groupIds = jdbcTemplate.queryForList(
+                "SELECT id FROM groups WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT ?",
+                Long.class, groupsPerRun);
+        groupIds.forEach(this::purge);
+    }
+
+    /** Purges the deleted groups of a teacher right away, e.g. before the teacher's account is removed. */
+    public long purgeForTeacher(Long teacherId) {
+        long deleted = 0;
+        for (Long groupId : jdbcTemplate.queryForList(
+                "SELECT id FROM groups WHERE teacher_id = ? AND deleted_at IS NOT NULL", Long.class, teacherId)) {
+            deleted += purge(groupId);
+        }
+        return deleted;
+    }
+
+    /** Returns the number of rows removed. */
+    public long purge(Long groupId) {
+        long deleted = deleteInChunks(DELETE_TIMELINE_ENTRIES, groupId);
+        deleted += deleteInChunks(DELETE_COMMENTS, groupId);
+        deleted += deleteInChunks(DELETE_ATTACHMENTS, groupId);
+        deleted += deleteInChunks(DELETE_ANNOUNCEMENTS, groupId);
+        deleted += deleteInChunks(DELETE_ENROLLMENTS, groupId);
+        return deleted + jdbcTemplate.update("DELETE FROM groups WHERE id = ? AND deleted_at IS NOT NULL", groupId);
+    }
+
+    private long deleteInChunks(String sql, Long groupId) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, groupId, chunkSize);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        return total;
+    }
+}
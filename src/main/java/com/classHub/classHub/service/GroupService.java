@@ -2,22 +2,29 @@ package com.classHub.classHub.service;
 
 import com.classHub.classHub.entity.Group;
 import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.GroupDefinition;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.CursorPage;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface GroupService {
     Group createGroup(String name, String description, User teacher);
+    List<Group> createGroups(List<GroupDefinition> definitions, User teacher);
     Group updateGroup(Long groupId, String name, String description, User teacher);
     void deleteGroup(Long groupId, User teacher);
     Group getGroupById(Long groupId);
     List<Group> getGroupsForTeacher(User teacher);
     Page<Group> getGroupsForTeacherPaginated(User teacher, Pageable pageable);
+    CursorPage<Group> getGroupsForTeacher(User teacher, PageCursor cursor, int size);
     List<Group> getGroupsForStudent(User student);
     Page<Group> getGroupsForStudentPaginated(User student, Pageable pageable);
+    CursorPage<Group> getGroupsForStudent(User student, PageCursor cursor, int size);
     Group joinGroupByCode(String joinCode, User student);
     List<User> getGroupMembers(Long groupId);
     Page<User> getGroupMembersPaginated(Long groupId, Pageable pageable);
+    CursorPage<User> getGroupMembers(Long groupId, PageCursor cursor, int size);
     
     // New methods for member management
     void removeStudentFromGroup(Long groupId, Long studentId, User teacher);
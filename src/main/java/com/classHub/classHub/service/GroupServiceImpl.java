@@ -3,19 +3,26 @@ package com.classHub.classHub.service;
 import com.classHub.classHub.entity.Group;
 import com.classHub.classHub.entity.User;
 import com.classHub.classHub.entity.Enrollment;
-import com.classHub.classHub.entity.Announcement;
+import com.classHub.classHub.pojoRequest.GroupDefinition;
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.CursorPage;
 import com.classHub.classHub.repo.GroupRepository;
 import com.classHub.classHub.repo.EnrollmentRepository;
-import com.classHub.classHub.repo.AnnouncementRepository;
-import com.classHub.classHub.repo.CommentRepository;
 import com.classHub.classHub.repo.UserRepository;
+import com.classHub.classHub.repo.TimelineEntryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,13 +32,33 @@ public class GroupServiceImpl implements GroupService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
     @Autowired
-    private AnnouncementRepository announcementRepository;
-    @Autowired
-    private CommentRepository commentRepository;
-    @Autowired
     private UserRepository userRepository;
     @Autowired
     private UserService userService;
+    @Autowired
+    private JoinCodeDirectory joinCodeDirectory;
+    @Autowired
+    private JoinCodeAllocator joinCodeAllocator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EnrollmentBatcher enrollmentBatcher;
+    @Autowired
+    private ActivityCounters activityCounters;
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+    @Autowired
+    private GroupEventDispatcher groupEventDispatcher;
+    @Autowired
+    private TimelineService timelineService;
+
+    @Value("${group.bulk.max-groups:1000}")
+    private int maxBulkGroups;
+
+    @Value("${group.bulk.insert-chunk-size:500}")
+    private int bulkInsertChunkSize;
 
     @Override
     @Transactional
@@ -40,8 +67,62 @@ public class GroupServiceImpl implements GroupService {
         group.setName(name);
         group.setDescription(description);
         group.setTeacher(teacher);
-        group.setJoinCode(UUID.randomUUID().toString().substring(0, 8));
-        return groupRepository.save(group);
+        group.setJoinCode(joinCodeAllocator.allocate());
+        Group saved = groupRepository.save(group);
+        AfterCommit.run(() -> {
+            joinCodeDirectory.register(saved.getJoinCode(), saved.getId());
+            groupMembershipIndex.addGroup(saved.getId(), teacher.getId());
+        });
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Group> createGroups(List<GroupDefinition> definitions, User teacher) {
+        if (!userService.isTeacher(teacher)) throw new RuntimeException("Only teachers can create groups");
+        if (definitions == null || definitions.isEmpty()) throw new RuntimeException("No groups to create");
+        if (definitions.size() > maxBulkGroups) throw new RuntimeException("At most " + maxBulkGroups + " groups can be created at once");
+        for (GroupDefinition definition : definitions) {
+            if (definition.getName() == null || definition.getName().isBlank()) throw new RuntimeException("Every group needs a name");
+        }
+
+        List<String> codes = joinCodeAllocator.allocate(definitions.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+        Map<String, Long> idsByCode = new HashMap<>();
+        for (int from = 0; from < definitions.size(); from += bulkInsertChunkSize) {
+            int to = Math.min(from + bulkInsertChunkSize, definitions.size());
+            StringBuilder sql = new StringBuilder("INSERT INTO groups (name, description, join_code, created_at, teacher_id) VALUES ");
+            List<Object> args = new ArrayList<>((to - from) * 5);
+            for (int i = from; i < to; i++) {
+                sql.append(i == from ? "" : ", ").append("(?, ?, ?, ?, ?)");
+                args.add(definitions.get(i).getName());
+                args.add(definitions.get(i).getDescription());
+                args.add(codes.get(i));
+                args.add(Timestamp.valueOf(createdAt));
+                args.add(teacher.getId());
+            }
+            sql.append(" RETURNING id, join_code");
+            jdbcTemplate.query(sql.toString(), rs -> {
+                idsByCode.put(rs.getString("join_code"), rs.getLong("id"));
+            }, args.toArray());
+        }
+
+        List<Group> groups = new ArrayList<>(definitions.size());
+        for (int i = 0; i < definitions.size(); i++) {
+            Group group = new Group();
+            group.setId(idsByCode.get(codes.get(i)));
+            group.setName(definitions.get(i).getName());
+            group.setDescription(definitions.get(i).getDescription());
+            group.setJoinCode(codes.get(i));
+            group.setCreatedAt(createdAt);
+            group.setTeacher(teacher);
+            groups.add(group);
+        }
+        AfterCommit.run(() -> groups.forEach(group -> {
+            joinCodeDirectory.register(group.getJoinCode(), group.getId());
+            groupMembershipIndex.addGroup(group.getId(), teacher.getId());
+        }));
+        return groups;
     }
 
     @Override
@@ -60,20 +141,14 @@ public class GroupServiceImpl implements GroupService {
         Group group = groupRepository.findById(groupId).orElseThrow();
         if (!group.getTeacher().getId().equals(teacher.getId())) throw new RuntimeException("Not your group");
         
-        // Delete all comments for announcements in this group first
-        List<Announcement> announcements = announcementRepository.findByGroup(group);
-        for (Announcement announcement : announcements) {
-            commentRepository.deleteByAnnouncement(announcement);
-        }
-        
-        // Delete all announcements for this group
-        announcementRepository.deleteByGroup(group);
-        
-        // Delete all enrollments for this group
-        enrollmentRepository.deleteByGroup(group);
-        
-        // Now delete the group
-        groupRepository.delete(group);
+        // Hide the group now; GroupPurger removes its comments, announcements and enrollments later
+        group.setDeletedAt(LocalDateTime.now());
+        groupRepository.save(group);
+        AfterCommit.run(() -> {
+            joinCodeDirectory.remove(group.getJoinCode());
+            groupMembershipIndex.removeGroup(groupId);
+            groupEventDispatcher.closeGroup(groupId);
+        });
     }
 
     @Override
@@ -91,9 +166,18 @@ public class GroupServiceImpl implements GroupService {
         return groupRepository.findByTeacherOrderByCreatedAtDesc(teacher, pageable);
     }
 
+    @Override
+    public CursorPage<Group> getGroupsForTeacher(User teacher, PageCursor cursor, int size) {
+        Pageable limit = CursorPage.fetchLimit(size);
+        List<Group> rows = cursor == null
+            ? groupRepository.findByTeacherOrderByCreatedAtDescIdDesc(teacher, limit)
+            : groupRepository.findByTeacherBefore(teacher, cursor.getKeyAsDateTime(), cursor.getId(), limit);
+        return CursorPage.of(rows, size, group -> PageCursor.encode(group.getCreatedAt(), group.getId()));
+    }
+
     @Override
     public List<Group> getGroupsForStudent(User student) {
-        return enrollmentRepository.findByStudent(student).stream().map(Enrollment::getGroup).collect(Collectors.toList());
+        return enrollmentRepository.findByStudentAndGroupDeletedAtIsNull(student).stream().map(Enrollment::getGroup).collect(Collectors.toList());
     }
 
     @Override
@@ -103,15 +187,26 @@ public class GroupServiceImpl implements GroupService {
     }
 
     @Override
-    @Transactional
+    public CursorPage<Group> getGroupsForStudent(User student, PageCursor cursor, int size) {
+        Pageable limit = CursorPage.fetchLimit(size);
+        List<Group> rows = cursor == null
+            ? enrollmentRepository.findGroupsByStudent(student, limit)
+            : enrollmentRepository.findGroupsByStudentBefore(student, cursor.getKeyAsDateTime(), cursor.getId(), limit);
+        return CursorPage.of(rows, size, group -> PageCursor.encode(group.getCreatedAt(), group.getId()));
+    }
+
+    @Override
     public Group joinGroupByCode(String joinCode, User student) {
-        Group group = groupRepository.findByJoinCodeIgnoreCase(joinCode);
-        if (group == null) throw new RuntimeException("Group not found");
-        if (enrollmentRepository.findByGroupAndStudent(group, student) != null) return group;
-        Enrollment enrollment = new Enrollment();
-        enrollment.setGroup(group);
-        enrollment.setStudent(student);
-        enrollmentRepository.save(enrollment);
+        String code = JoinCodeDirectory.normalize(joinCode);
+        Long groupId = joinCodeDirectory.resolve(code);
+        Group group = groupId == null ? null : groupRepository.findById(groupId).orElse(null);
+        if (group == null) {
+            // Not known to this node yet (e.g. created elsewhere): exact match on the indexed column
+            group = groupRepository.findByJoinCode(code);
+            if (group == null) throw new RuntimeException("Group not found");
+            joinCodeDirectory.register(code, group.getId());
+        }
+        enrollmentBatcher.enroll(group.getId(), student.getId());
         return group;
     }
 
@@ -128,6 +223,18 @@ public class GroupServiceImpl implements GroupService {
             .map(Enrollment::getStudent);
     }
 
+    @Override
+    public CursorPage<User> getGroupMembers(Long groupId, PageCursor cursor, int size) {
+        Group group = groupRepository.findById(groupId).orElseThrow();
+        Pageable limit = CursorPage.fetchLimit(size);
+        // Listed in the order students joined: no index can serve a sort on the users' names
+        List<Enrollment> rows = cursor == null
+            ? enrollmentRepository.findByGroupInJoinOrder(group, limit)
+            : enrollmentRepository.findByGroupInJoinOrderAfter(group, cursor.getId(), limit);
+        return CursorPage.of(rows, size, enrollment -> PageCursor.encode(null, enrollment.getId()))
+            .map(Enrollment::getStudent);
+    }
+
     @Override
     @Transactional
     public void removeStudentFromGroup(Long groupId, Long studentId, User teacher) {
@@ -148,6 +255,13 @@ public class GroupServiceImpl implements GroupService {
         }
         
         enrollmentRepository.delete(enrollment);
+        timelineEntryRepository.deleteByStudentIdAndGroupId(studentId, groupId);
+        AfterCommit.run(() -> {
+            activityCounters.add(ActivityCounters.Counter.GROUP_MEMBERS, groupId, -1);
+            groupMembershipIndex.removeMember(groupId, studentId);
+            groupEventDispatcher.disconnect(groupId, studentId);
+            timelineService.memberLeft(groupId);
+        });
     }
 
     @Override
@@ -162,5 +276,13 @@ public class GroupServiceImpl implements GroupService {
         }
         
         enrollmentRepository.delete(enrollment);
+        Long studentId = student.getId();
+        timelineEntryRepository.deleteByStudentIdAndGroupId(studentId, groupId);
+        AfterCommit.run(() -> {
+            activityCounters.add(ActivityCounters.Counter.GROUP_MEMBERS, groupId, -1);
+            groupMembershipIndex.removeMember(groupId, studentId);
+            groupEventDispatcher.disconnect(groupId, studentId);
+            timelineService.memberLeft(groupId);
+        });
     }
 } 
\ No newline at end of file
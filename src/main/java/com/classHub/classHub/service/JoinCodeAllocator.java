@@ -0,0 +1,57 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.repo.GroupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hands out batches of join codes that collide neither with each other nor with any existing
+ * group. Candidates are screened against the in-memory directory first and then checked in
+ * bulk against the table, so a batch costs one query in the common case.
+ */
+@Component
+public class JoinCodeAllocator {
+
+    // No 0/O or 1/I/L, so codes survive being read aloud or copied from a whiteboard
+    private static final char[] ALPHABET = "ABCDEFGHJKMNPQRSTUVWXYZ23456789".toCharArray();
+    private static final int LENGTH = 8;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private JoinCodeDirectory joinCodeDirectory;
+
+    public String allocate() {
+        return allocate(1).get(0);
+    }
+
+    public List<String> allocate(int count) {
+        Set<String> allocated = new LinkedHashSet<>();
+        while (allocated.size() < count) {
+            Set<String> candidates = new HashSet<>();
+            while (allocated.size() + candidates.size() < count) {
+                String code = randomCode();
+                if (!allocated.contains(code) && !joinCodeDirectory.contains(code)) candidates.add(code);
+            }
+            candidates.removeAll(groupRepository.findExistingJoinCodes(candidates));
+            allocated.addAll(candidates);
+        }
+        return new ArrayList<>(allocated);
+    }
+
+    private String randomCode() {
+        char[] code = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) code[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        return new String(code);
+    }
+}
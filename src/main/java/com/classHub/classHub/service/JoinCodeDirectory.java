@@ -0,0 +1,54 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.repo.GroupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map from canonical join code to group id, warmed at startup and kept current
+ * by group creation and deletion, so joining by code needs no lookup on the code column.
+ */
+@Component
+public class JoinCodeDirectory {
+
+    private final Map<String, Long> groupIdsByCode = new ConcurrentHashMap<>();
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    /**
+     * Canonical form in which join codes are stored and looked up.
+     */
+    public static String normalize(String joinCode) {
+        return joinCode == null ? null : joinCode.trim().toUpperCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Object[] row : groupRepository.findAllJoinCodes()) {
+            if (row[1] != null) groupIdsByCode.put(normalize((String) row[1]), (Long) row[0]);
+        }
+    }
+
+    public Long resolve(String joinCode) {
+        return joinCode == null ? null : groupIdsByCode.get(normalize(joinCode));
+    }
+
+    public boolean contains(String joinCode) {
+        return resolve(joinCode) != null;
+    }
+
+    public void register(String joinCode, Long groupId) {
+        groupIdsByCode.put(normalize(joinCode), groupId);
+    }
+
+    public void remove(String joinCode) {
+        if (joinCode != null) groupIdsByCode.remove(normalize(joinCode));
+    }
+}
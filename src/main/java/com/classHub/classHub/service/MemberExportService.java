@@ -0,0 +1,118 @@
+package com.classHub.classHub.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+
+/**
+ * Streams a group's members straight from a forward-only cursor to the response, one projected
+ * row at a time, so memory stays flat however large the group is. Only non-sensitive columns
+ * are read.
+ */
+@Service
+public class MemberExportService {
+
+    public enum Format {
+        CSV(MediaType.parseMediaType("text/csv"), "csv"),
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+        public final MediaType mediaType;
+        public final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) return format;
+            }
+            throw new RuntimeException("Unsupported export format: " + value);
+        }
+    }
+
+    private static final String MEMBERS_SQL =
+            "SELECT u.id, u.first_name, u.last_name, u.email, e.enrolled_at FROM enrollments e "
+            + "JOIN users u ON u.id = e.student_id WHERE e.group_id = ? ORDER BY u.first_name, u.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${group.export.fetch-size:500}")
+    private int fetchSize;
+
+    // The transaction keeps auto-commit off, which the driver needs to honour the fetch size
+    @Transactional(readOnly = true)
+    public void write(Long groupId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = format == Format.NDJSON ? objectMapper.getFactory().createGenerator(writer) : null;
+        if (format == Format.CSV) writer.write("id,firstName,lastName,email,enrolledAt\n");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MEMBERS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, groupId);
+            return statement;
+        }, rs -> {
+            Timestamp enrolledAt = rs.getTimestamp("enrolled_at");
+            String enrolled = enrolledAt == null ? null : enrolledAt.toLocalDateTime().toString();
+            try {
+                if (json != null) {
+                    json.writeStartObject();
+                    json.writeNumberField("id", rs.getLong("id"));
+                    json.writeStringField("firstName", rs.getString("first_name"));
+                    json.writeStringField("lastName", rs.getString("last_name"));
+                    json.writeStringField("email", rs.getString("email"));
+                    json.writeStringField("enrolledAt", enrolled);
+                    json.writeEndObject();
+                    json.flush();
+                    writer.write('\n');
+                } else {
+                    writer.write(Long.toString(rs.getLong("id")));
+                    writer.write(',');
+                    writer.write(csv(rs.getString("first_name")));
+                    writer.write(',');
+                    writer.write(csv(rs.getString("last_name")));
+                    writer.write(',');
+                    writer.write(csv(rs.getString("email")));
+                    writer.write(',');
+                    writer.write(enrolled == null ? "" : enrolled);
+                    writer.write('\n');
+                }
+            } catch (IOException e) {
+                // Client went away: abort the query instead of draining the cursor
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,97 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.entity.User;
+import com.classHub.classHub.exception.ServiceBusyException;
+import com.classHub.classHub.repo.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt password checks on a dedicated, bounded pool. When the queue is full the
+ * caller is rejected immediately instead of tying up a request thread behind the backlog.
+ */
+@Service
+public class PasswordVerificationService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${security.login.verify-threads:0}")
+    private int threads;
+
+    @Value("${security.login.verify-queue:64}")
+    private int queueCapacity;
+
+    @Value("${security.login.verify-timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks the raw password against the stored hash exactly once. On success, a hash
+     * weaker than the configured strength is replaced with a fresh one.
+     */
+    public boolean verify(User user, String rawPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> check(user.getId(), user.getPassword(), rawPassword));
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Too many login attempts in progress. Please try again shortly.", 1);
+        }
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new ServiceBusyException("Login is taking longer than expected. Please try again shortly.", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Login interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password verification failed", e.getCause());
+        }
+    }
+
+    private boolean check(Long userId, String encodedPassword, String rawPassword) {
+        if (rawPassword == null || encodedPassword == null) return false;
+        if (!passwordEncoder.matches(rawPassword, encodedPassword)) return false;
+        if (passwordEncoder.upgradeEncoding(encodedPassword)) {
+            userRepository.updatePassword(userId, passwordEncoder.encode(rawPassword));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoResponse.RosterImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface RosterImportService {
+    RosterImportResult importRoster(InputStream input, boolean ndjson, Long groupId, User teacher) throws IOException;
+}
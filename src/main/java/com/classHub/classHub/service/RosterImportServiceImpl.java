@@ -0,0 +1,289 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.entity.Group;
+import com.classHub.classHub.entity.Role;
+import com.classHub.classHub.entity.User;
+import com.classHub.classHub.pojoRequest.AuthRequest;
+import com.classHub.classHub.pojoResponse.RosterImportResult;
+import com.classHub.classHub.pojoResponse.RosterImportResult.Status;
+import com.classHub.classHub.repo.GroupRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class RosterImportServiceImpl implements RosterImportService {
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ActivityCounters activityCounters;
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Value("${roster.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${roster.import.hash-threads:0}")
+    private int hashThreads;
+
+    private ExecutorService hashingPool;
+
+    @PostConstruct
+    void start() {
+        int poolSize = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        hashingPool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "roster-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        hashingPool.shutdownNow();
+    }
+
+    @Override
+    public RosterImportResult importRoster(InputStream input, boolean ndjson, Long groupId, User teacher) throws IOException {
+        if (!userService.isTeacher(teacher)) throw new RuntimeException("Only teachers can import rosters");
+        if (groupId != null) {
+            Group group = groupRepository.findById(groupId).orElseThrow(() -> new RuntimeException("Group not found"));
+            if (!group.getTeacher().getId().equals(teacher.getId())) throw new RuntimeException("Not your group");
+        }
+
+        RosterImportResult result = new RosterImportResult();
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            if (!ndjson && lineNumber == 1 && line.toLowerCase().startsWith("firstname")) continue;
+
+            AuthRequest request;
+            try {
+                request = ndjson ? objectMapper.readValue(line, AuthRequest.class) : parseCsv(line);
+            } catch (IOException | IllegalArgumentException e) {
+                result.add(new RosterImportResult.Row(lineNumber, null, Status.INVALID, false, "Unreadable row"));
+                continue;
+            }
+
+            String email = request.getEmail() == null ? null : request.getEmail().trim();
+            if (email == null || !normalize(email).endsWith("@gmail.com")) {
+                result.add(new RosterImportResult.Row(lineNumber, email, Status.INVALID, false, "Email must be a @gmail.com address."));
+                continue;
+            }
+            if (request.getPassword() == null || request.getPassword().isBlank()) {
+                result.add(new RosterImportResult.Row(lineNumber, email, Status.INVALID, false, "Password is required"));
+                continue;
+            }
+            if (!seenEmails.add(normalize(email))) {
+                result.add(new RosterImportResult.Row(lineNumber, email, Status.DUPLICATE, false, "Email appears earlier in this roster"));
+                continue;
+            }
+            request.setEmail(email);
+            chunk.add(new PendingRow(lineNumber, request));
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, groupId, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) processChunk(chunk, groupId, result);
+        return result;
+    }
+
+    /**
+     * Maps are keyed by the normalized email. Only accounts created by this import and existing
+     * active students are enrolled; a roster must not be able to pull teachers or disabled
+     * accounts into a group.
+     */
+    private void processChunk(List<PendingRow> chunk, Long groupId, RosterImportResult result) {
+        List<String> emails = chunk.stream().map(row -> normalize(row.request.getEmail())).toList();
+        Map<String, ExistingUser> existing = findUsers(emails);
+
+        List<PendingRow> toCreate = chunk.stream().filter(row -> !existing.containsKey(normalize(row.request.getEmail()))).toList();
+        List<CompletableFuture<String>> hashes = toCreate.stream()
+            .map(row -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.request.getPassword()), hashingPool))
+            .toList();
+        Map<String, Long> created = insertUsers(toCreate, hashes.stream().map(CompletableFuture::join).toList());
+
+        // Rows that lost a race with a concurrent registration were skipped by ON CONFLICT
+        List<String> raced = toCreate.stream().map(row -> normalize(row.request.getEmail())).filter(email -> !created.containsKey(email)).toList();
+        if (!raced.isEmpty()) existing.putAll(findUsers(raced));
+
+        List<Long> enrollable = new ArrayList<>(created.values());
+        existing.values().stream().filter(ExistingUser::isEnrollable).forEach(user -> enrollable.add(user.id()));
+        Set<Long> enrolled = groupId == null ? Set.of() : enroll(groupId, enrollable);
+
+        for (PendingRow row : chunk) {
+            result.add(outcome(row, created, existing, enrolled, groupId != null));
+        }
+    }
+
+    static RosterImportResult.Row outcome(PendingRow row, Map<String, Long> created, Map<String, ExistingUser> existing,
+                                          Set<Long> enrolled, boolean enrolling) {
+        String email = row.request.getEmail();
+        String key = normalize(email);
+        Long createdId = created.get(key);
+        if (createdId != null) {
+            return new RosterImportResult.Row(row.line, email, Status.CREATED, enrolled.contains(createdId), null);
+        }
+        ExistingUser user = existing.get(key);
+        if (user == null) {
+            return new RosterImportResult.Row(row.line, email, Status.INVALID, false, "Account could not be created");
+        }
+        if (enrolling && !user.isEnrollable()) {
+            return new RosterImportResult.Row(row.line, email, Status.SKIPPED, false,
+                "An account with this email exists but is not an active student");
+        }
+        return new RosterImportResult.Row(row.line, email, Status.EXISTS, enrolled.contains(user.id()),
+            "A user with this email already exists");
+    }
+
+    private Map<String, ExistingUser> findUsers(List<String> normalizedEmails) {
+        Map<String, ExistingUser> users = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, email, role, disabled FROM users WHERE lower(email) IN (:emails)",
+            new MapSqlParameterSource("emails", normalizedEmails),
+            rs -> {
+                users.put(normalize(rs.getString("email")), new ExistingUser(rs.getLong("id"),
+                    Role.STUDENT.name().equals(rs.getString("role")), rs.getBoolean("disabled")));
+            });
+        return users;
+    }
+
+    static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private Map<String, Long> insertUsers(List<PendingRow> rows, List<String> hashes) {
+        Map<String, Long> ids = new HashMap<>();
+        if (rows.isEmpty()) return ids;
+        StringBuilder sql = new StringBuilder("INSERT INTO users (first_name, last_name, email, password, role, bio, token_version) VALUES ");
+        List<Object> args = new ArrayList<>(rows.size() * 6);
+        for (int i = 0; i < rows.size(); i++) {
+            AuthRequest request = rows.get(i).request;
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, 0)");
+            args.add(request.getFirstName());
+            args.add(request.getLastName());
+            args.add(request.getEmail());
+            args.add(hashes.get(i));
+            args.add(Role.STUDENT.name());
+            args.add(request.getBio());
+        }
+        sql.append(" ON CONFLICT (email) DO NOTHING RETURNING id, email");
+        jdbcTemplate.query(sql.toString(), rs -> {
+            ids.put(normalize(rs.getString("email")), rs.getLong("id"));
+        }, args.toArray());
+        return ids;
+    }
+
+    private Set<Long> enroll(Long groupId, List<Long> studentIds) {
+        Set<Long> enrolled = new HashSet<>();
+        if (studentIds.isEmpty()) return enrolled;
+        StringBuilder sql = new StringBuilder("INSERT INTO enrollments (group_id, student_id, enrolled_at) VALUES ");
+        List<Object> args = new ArrayList<>(studentIds.size() * 3);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < studentIds.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?)");
+            args.add(groupId);
+            args.add(studentIds.get(i));
+            args.add(now);
+        }
+        sql.append(" ON CONFLICT (group_id, student_id) DO NOTHING RETURNING student_id");
+        jdbcTemplate.query(sql.toString(), rs -> {
+            enrolled.add(rs.getLong("student_id"));
+        }, args.toArray());
+        AfterCommit.run(() -> {
+            activityCounters.add(ActivityCounters.Counter.GROUP_MEMBERS, groupId, enrolled.size());
+            groupMembershipIndex.addMembers(groupId, enrolled);
+            timelineService.backfill(groupId, enrolled);
+        });
+        return enrolled;
+    }
+
+    /**
+     * Parses {@code firstName,lastName,email,password[,bio]}; fields may be double-quoted.
+     */
+    private static AuthRequest parseCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        if (fields.size() < 4) throw new IllegalArgumentException("Expected at least 4 columns");
+
+        AuthRequest request = new AuthRequest();
+        request.setFirstName(fields.get(0));
+        request.setLastName(fields.get(1));
+        request.setEmail(fields.get(2));
+        request.setPassword(fields.get(3));
+        if (fields.size() > 4) request.setBio(fields.get(4));
+        return request;
+    }
+
+    record PendingRow(int line, AuthRequest request) {
+    }
+
+    record ExistingUser(long id, boolean student, boolean disabled) {
+        boolean isEnrollable() {
+            return student && !disabled;
+        }
+    }
+}
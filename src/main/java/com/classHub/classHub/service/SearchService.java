@@ -0,0 +1,118 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.pojoResponse.AuthorSummary;
+import com.classHub.classHub.pojoResponse.SearchHit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over announcements and comments in the caller's groups. Both tables carry a
+ * generated tsvector column with a GIN index, so Postgres keeps the index current in the same
+ * transaction as every insert, update and delete. Results are ranked with ts_rank and only the
+ * returned page is highlighted, since ts_headline has to re-parse the text. The columns and
+ * indexes are created by add_search_vectors.sql.
+ */
+@Service
+public class SearchService {
+
+    private static final String SEARCH_SQL =
+            "WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query), "
+            + "scope AS (%s), "
+            + "hits AS ("
+            + "SELECT 'announcement' AS type, a.id, a.id AS announcement_id, a.group_id, a.content, a.created_at, "
+            + "a.teacher_id AS user_id, ts_rank(a.search_vector, q.query) AS rank "
+            + "FROM announcements a, q WHERE a.group_id IN (SELECT group_id FROM scope) AND a.search_vector @@ q.query "
+            + "UNION ALL "
+            + "SELECT 'comment', c.id, c.announcement_id, a.group_id, c.content, c.created_at, "
+            + "c.user_id, ts_rank(c.search_vector, q.query) "
+            + "FROM comments c JOIN announcements a ON a.id = c.announcement_id, q "
+            + "WHERE a.group_id IN (SELECT group_id FROM scope) AND c.search_vector @@ q.query"
+            + ") "
+            + "SELECT h.type, h.id, h.announcement_id, h.group_id, h.created_at, h.user_id, h.rank, "
+            + "ts_headline('english', " + escapeHtml("h.content") + ", q.query, :headlineOptions) AS headline "
+            + "FROM (SELECT * FROM hits ORDER BY rank DESC, created_at DESC, id DESC LIMIT :limit OFFSET :offset) h, q "
+            + "ORDER BY h.rank DESC, h.created_at DESC, h.id DESC";
+
+    private static final String CALLER_GROUPS =
+            "SELECT e.group_id FROM enrollments e JOIN groups g ON g.id = e.group_id "
+            + "WHERE e.student_id = :userId AND g.deleted_at IS NULL "
+            + "UNION SELECT id FROM groups WHERE teacher_id = :userId AND deleted_at IS NULL";
+
+    private static final String SINGLE_GROUP = "SELECT CAST(:groupId AS BIGINT) AS group_id";
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2";
+
+    private record Row(String type, Long id, Long announcementId, Long groupId, Timestamp createdAt, Long userId,
+                       double rank, String headline) {
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+
+    @Autowired
+    private AuthorSummaryCache authorSummaryCache;
+
+    @Value("${search.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${search.max-offset:1000}")
+    private int maxOffset;
+
+    /** Searches the caller's groups, or only {@code groupId} when given. */
+    public List<SearchHit> search(Long userId, String query, Long groupId, int page, int size) {
+        if (query == null || query.isBlank()) throw new RuntimeException("Search query must not be empty");
+        if (size < 1 || size > maxPageSize) throw new RuntimeException("Page size must be between 1 and " + maxPageSize);
+        page = Math.max(page, 0);
+        if (page > maxOffset / size) throw new RuntimeException("Refine the search to see more results");
+        int offset = page * size;
+        if (groupId != null) groupMembershipIndex.checkCanRead(groupId, userId);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("userId", userId)
+                .addValue("groupId", groupId)
+                .addValue("headlineOptions", HEADLINE_OPTIONS)
+                .addValue("limit", size)
+                .addValue("offset", offset);
+        List<Row> rows = namedParameterJdbcTemplate.query(
+                String.format(SEARCH_SQL, groupId == null ? CALLER_GROUPS : SINGLE_GROUP), params,
+                (rs, i) -> new Row(rs.getString("type"), rs.getLong("id"), rs.getLong("announcement_id"),
+                        rs.getLong("group_id"), rs.getTimestamp("created_at"), rs.getObject("user_id", Long.class),
+                        rs.getDouble("rank"), rs.getString("headline")));
+
+        Set<Long> userIds = new HashSet<>();
+        rows.forEach(row -> userIds.add(row.userId()));
+        userIds.remove(null);
+        Map<Long, AuthorSummary> authors = authorSummaryCache.getAll(userIds);
+
+        return rows.stream()
+                .map(row -> new SearchHit(row.type(), row.id(), row.announcementId(), row.groupId(), row.headline(),
+                        row.createdAt() == null ? null : row.createdAt().toLocalDateTime(), row.rank(),
+                        author(authors, row.userId())))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> author(Map<Long, AuthorSummary> authors, Long userId) {
+        AuthorSummary summary = userId == null ? null : authors.get(userId);
+        return summary == null ? null : summary.asMap();
+    }
+
+    // The headline is served as HTML, so the stored text is escaped before <mark> tags are added
+    private static String escapeHtml(String column) {
+        return "replace(replace(replace(replace(" + column + ", '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '\"', '&quot;')";
+    }
+}
@@ -0,0 +1,104 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.pojoResponse.AuthorSummary;
+import com.classHub.classHub.pojoResponse.StudentDashboard;
+import com.classHub.classHub.service.ActivityCounters.Counter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the student home page with two queries: the student's groups, and the latest
+ * announcements of all of those groups at once through a windowed query.
+ */
+@Service
+public class StudentDashboardService {
+
+    private static final String GROUPS_SQL =
+            "SELECT g.id, g.name, g.description, g.join_code, g.created_at, g.teacher_id, "
+            + "g.member_count, g.announcement_count FROM enrollments e JOIN groups g ON g.id = e.group_id "
+            + "WHERE e.student_id = ? AND g.deleted_at IS NULL ORDER BY g.created_at DESC, g.id DESC";
+
+    private static final String LATEST_ANNOUNCEMENTS_SQL =
+            "SELECT id, group_id, content, created_at, teacher_id, comment_count FROM ("
+            + "SELECT a.id, a.group_id, a.content, a.created_at, a.teacher_id, a.comment_count, "
+            + "ROW_NUMBER() OVER (PARTITION BY a.group_id ORDER BY a.created_at DESC, a.id DESC) AS rn "
+            + "FROM announcements a JOIN enrollments e ON e.group_id = a.group_id WHERE e.student_id = ?"
+            + ") latest WHERE rn <= ? ORDER BY group_id, rn";
+
+    private record GroupRow(Long id, String name, String description, String joinCode, LocalDateTime createdAt,
+                            Long teacherId, long memberCount, long announcementCount) {
+    }
+
+    private record AnnouncementRow(Long id, Long groupId, String content, LocalDateTime createdAt,
+                                   Long teacherId, long commentCount) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthorSummaryCache authorSummaryCache;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+
+    @Transactional(readOnly = true)
+    public StudentDashboard getDashboard(Long studentId, int announcementsPerGroup) {
+        List<GroupRow> groups = jdbcTemplate.query(GROUPS_SQL, (rs, i) -> new GroupRow(
+                rs.getLong("id"), rs.getString("name"), rs.getString("description"), rs.getString("join_code"),
+                toLocal(rs.getTimestamp("created_at")), rs.getObject("teacher_id", Long.class),
+                rs.getLong("member_count"), rs.getLong("announcement_count")), studentId);
+
+        List<AnnouncementRow> announcements = announcementsPerGroup <= 0 || groups.isEmpty() ? List.of()
+                : jdbcTemplate.query(LATEST_ANNOUNCEMENTS_SQL, (rs, i) -> new AnnouncementRow(
+                        rs.getLong("id"), rs.getLong("group_id"), rs.getString("content"),
+                        toLocal(rs.getTimestamp("created_at")), rs.getObject("teacher_id", Long.class),
+                        rs.getLong("comment_count")), studentId, announcementsPerGroup);
+
+        Set<Long> authorIds = new HashSet<>();
+        groups.forEach(group -> authorIds.add(group.teacherId()));
+        announcements.forEach(announcement -> authorIds.add(announcement.teacherId()));
+        authorIds.remove(null);
+        Map<Long, AuthorSummary> authors = authorSummaryCache.getAll(authorIds);
+
+        StudentDashboard dashboard = new StudentDashboard();
+        Map<Long, StudentDashboard.GroupEntry> entries = new LinkedHashMap<>();
+        for (GroupRow group : groups) {
+            StudentDashboard.GroupEntry entry = new StudentDashboard.GroupEntry(group.id(), group.name(),
+                    group.description(), group.joinCode(), group.createdAt(),
+                    activityCounters.count(Counter.GROUP_MEMBERS, group.id(), group.memberCount()),
+                    activityCounters.count(Counter.GROUP_ANNOUNCEMENTS, group.id(), group.announcementCount()),
+                    author(authors, group.teacherId()));
+            entries.put(group.id(), entry);
+            dashboard.getGroups().add(entry);
+        }
+        for (AnnouncementRow announcement : announcements) {
+            StudentDashboard.GroupEntry entry = entries.get(announcement.groupId());
+            if (entry == null) continue;
+            entry.getLatestAnnouncements().add(new StudentDashboard.AnnouncementEntry(announcement.id(),
+                    announcement.content(), announcement.createdAt(),
+                    activityCounters.count(Counter.ANNOUNCEMENT_COMMENTS, announcement.id(), announcement.commentCount()),
+                    author(authors, announcement.teacherId())));
+        }
+        return dashboard;
+    }
+
+    private static Map<String, Object> author(Map<Long, AuthorSummary> authors, Long teacherId) {
+        AuthorSummary summary = teacherId == null ? null : authors.get(teacherId);
+        return summary == null ? null : summary.asMap();
+    }
+
+    private static LocalDateTime toLocal(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,338 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.pojoRequest.PageCursor;
+import com.classHub.classHub.pojoResponse.AuthorSummary;
+import com.classHub.classHub.pojoResponse.CursorPage;
+import com.classHub.classHub.pojoResponse.TimelineItem;
+import com.classHub.classHub.service.ActivityCounters.Counter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Materialized per-student timelines. New announcements are fanned out to the members'
+ * timelines by a background worker in batched inserts, so reading a timeline is one range scan.
+ * Groups above {@code timeline.fanout.max-group-size} are not fanned out; their announcements
+ * are merged in when the timeline is read, and the group remembers the newest one it skipped
+ * so that they are fanned out once it shrinks below the limit. Students who join get the
+ * group's recent announcements backfilled, and a failed fan-out is retried with backoff.
+ */
+@Service
+public class TimelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineService.class);
+
+    private static final String COLUMNS = "a.id, a.group_id, a.content, a.created_at, a.teacher_id, a.comment_count";
+
+    private static final String FANNED_OUT_SQL =
+            "SELECT " + COLUMNS + " FROM timeline_entries t "
+            + "JOIN announcements a ON a.id = t.announcement_id "
+            + "JOIN groups g ON g.id = a.group_id AND g.deleted_at IS NULL "
+            + "WHERE t.student_id = :studentId%s "
+            + "ORDER BY t.created_at DESC, t.announcement_id DESC LIMIT :limit";
+    private static final String FANNED_OUT_SEEK =
+            " AND (t.created_at, t.announcement_id) < (:createdAt, :id)";
+
+    private static final String LARGE_GROUPS_SQL =
+            "SELECT " + COLUMNS + " FROM announcements a WHERE a.group_id IN (:groupIds)%s "
+            + "ORDER BY a.created_at DESC, a.id DESC LIMIT :limit";
+    private static final String LARGE_GROUPS_SEEK =
+            " AND (a.created_at, a.id) < (:createdAt, :id)";
+
+    // Announcements that reached fewer timelines than the group has members
+    private static final String INCOMPLETE_SQL =
+            "SELECT a.id, a.group_id, a.created_at FROM announcements a "
+            + "JOIN groups g ON g.id = a.group_id AND g.deleted_at IS NULL "
+            + "WHERE a.created_at > ? AND g.member_count BETWEEN 1 AND ? "
+            + "AND (SELECT COUNT(*) FROM timeline_entries t WHERE t.announcement_id = a.id) < g.member_count";
+
+    // Groups that skipped announcements while they were large and are now small enough to fan out
+    private static final String SHRUNK_SQL =
+            "SELECT id FROM groups WHERE timeline_merged_until IS NOT NULL AND deleted_at IS NULL AND member_count <= ?";
+
+    private static final String FAN_OUT_TO_MEMBERS_SQL =
+            "INSERT INTO timeline_entries (student_id, announcement_id, group_id, created_at) "
+            + "SELECT e.student_id, a.id, a.group_id, a.created_at FROM announcements a "
+            + "JOIN enrollments e ON e.group_id = a.group_id WHERE a.id = ? ON CONFLICT DO NOTHING";
+
+    private static final String BACKFILL_SQL =
+            "INSERT INTO timeline_entries (student_id, announcement_id, group_id, created_at) "
+            + "SELECT e.student_id, a.id, a.group_id, a.created_at FROM enrollments e "
+            + "CROSS JOIN (SELECT id, group_id, created_at FROM announcements WHERE group_id = :groupId "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit) a "
+            + "WHERE e.group_id = :groupId AND e.student_id IN (:studentIds) ON CONFLICT DO NOTHING";
+
+    private enum Kind {
+        FAN_OUT,
+        BACKFILL,
+        CATCH_UP
+    }
+
+    /** An announcement to fan out, students to backfill, or a shrunk group to catch up. */
+    private record Pending(Kind kind, Long groupId, Long announcementId, LocalDateTime createdAt,
+                           List<Long> newMembers, int attempts, long dueAt) implements Delayed {
+
+        Pending(Kind kind, Long groupId, Long announcementId, LocalDateTime createdAt, List<Long> newMembers) {
+            this(kind, groupId, announcementId, createdAt, newMembers, 0, System.nanoTime());
+        }
+
+        Pending retry(long delayMs) {
+            return new Pending(kind, groupId, announcementId, createdAt, newMembers, attempts + 1,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs));
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((Pending) other).dueAt);
+        }
+    }
+
+    record Row(Long id, Long groupId, String content, LocalDateTime createdAt, Long teacherId,
+               long commentCount) {
+    }
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, i) -> new Row(rs.getLong("id"), rs.getLong("group_id"),
+            rs.getString("content"), rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getObject("teacher_id", Long.class), rs.getLong("comment_count"));
+
+    private static final Comparator<Row> NEWEST_FIRST =
+            Comparator.comparing(Row::createdAt).thenComparing(Row::id).reversed();
+
+    private final DelayQueue<Pending> queue = new DelayQueue<>();
+    private Thread worker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private GroupMembershipIndex groupMembershipIndex;
+
+    @Autowired
+    private AuthorSummaryCache authorSummaryCache;
+
+    @Autowired
+    private ActivityCounters activityCounters;
+
+    @Value("${timeline.fanout.max-group-size:2000}")
+    private int maxFanoutGroupSize;
+
+    @Value("${timeline.fanout.batch-size:500}")
+    private int batchSize;
+
+    @Value("${timeline.fanout.recovery-window-hours:24}")
+    private int recoveryWindowHours;
+
+    @Value("${timeline.fanout.backfill-limit:200}")
+    private int backfillLimit;
+
+    @Value("${timeline.fanout.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${timeline.fanout.retry-base-ms:1000}")
+    private long retryBaseMs;
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::run, "timeline-fanout");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.interrupt();
+    }
+
+    /**
+     * The queue lives in memory, so fan-outs cut short by a restart or given up after too many
+     * failures are found again here, as are groups that shrank below the fan-out limit on any
+     * node; re-inserting entries that already exist is a no-op.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${timeline.fanout.recovery-interval-ms:600000}",
+            initialDelayString = "${timeline.fanout.recovery-interval-ms:600000}")
+    public void recover() {
+        jdbcTemplate.query(INCOMPLETE_SQL, rs -> {
+            enqueue(rs.getLong("id"), rs.getLong("group_id"), rs.getTimestamp("created_at").toLocalDateTime());
+        }, Timestamp.valueOf(LocalDateTime.now().minusHours(recoveryWindowHours)), maxFanoutGroupSize);
+        for (Long groupId : jdbcTemplate.queryForList(SHRUNK_SQL, Long.class, maxFanoutGroupSize)) {
+            queue.add(new Pending(Kind.CATCH_UP, groupId, null, null, null));
+        }
+    }
+
+    public void enqueue(Long announcementId, Long groupId, LocalDateTime createdAt) {
+        queue.add(new Pending(Kind.FAN_OUT, groupId, announcementId, createdAt, null));
+    }
+
+    /** Gives students who just joined the group's most recent announcements. */
+    public void backfill(Long groupId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) return;
+        queue.add(new Pending(Kind.BACKFILL, groupId, null, null, List.copyOf(studentIds)));
+    }
+
+    /** Called after a student left; a group that is now small enough gets its skipped announcements. */
+    public void memberLeft(Long groupId) {
+        if (groupMembershipIndex.studentIds(groupId).length <= maxFanoutGroupSize) {
+            queue.add(new Pending(Kind.CATCH_UP, groupId, null, null, null));
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Pending pending;
+            try {
+                pending = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                switch (pending.kind()) {
+                    case FAN_OUT -> fanOut(pending);
+                    case BACKFILL -> backfill(pending);
+                    case CATCH_UP -> catchUp(pending.groupId());
+                }
+            } catch (RuntimeException e) {
+                // Inserts skip existing entries, so a retry only fills in the batches that failed
+                if (pending.attempts() + 1 < maxAttempts) {
+                    queue.add(pending.retry(retryBaseMs << pending.attempts()));
+                } else {
+                    // recover() picks up announcements and shrunk groups later; a lost backfill only affects older entries
+                    log.warn("Timeline update for group {} failed after {} attempts", pending.groupId(), maxAttempts, e);
+                }
+            }
+        }
+    }
+
+    private void backfill(Pending pending) {
+        if (groupMembershipIndex.studentIds(pending.groupId()).length > maxFanoutGroupSize) return;
+        namedParameterJdbcTemplate.update(BACKFILL_SQL, new MapSqlParameterSource()
+                .addValue("groupId", pending.groupId())
+                .addValue("studentIds", pending.newMembers())
+                .addValue("limit", backfillLimit));
+    }
+
+    private void fanOut(Pending pending) {
+        long[] students = groupMembershipIndex.studentIds(pending.groupId());
+        Timestamp createdAt = Timestamp.valueOf(pending.createdAt());
+        if (students.length > maxFanoutGroupSize) {
+            // Merged on read for now; catchUp() fans it out if the group shrinks
+            jdbcTemplate.update("UPDATE groups SET timeline_merged_until = GREATEST(timeline_merged_until, ?) WHERE id = ?",
+                    createdAt, pending.groupId());
+            return;
+        }
+        if (students.length == 0) return;
+        for (int from = 0; from < students.length; from += batchSize) {
+            int to = Math.min(from + batchSize, students.length);
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO timeline_entries (student_id, announcement_id, group_id, created_at) VALUES ");
+            List<Object> args = new ArrayList<>((to - from) * 4);
+            for (int i = from; i < to; i++) {
+                sql.append(i == from ? "" : ", ").append("(?, ?, ?, ?)");
+                args.add(students[i]);
+                args.add(pending.announcementId());
+                args.add(pending.groupId());
+                args.add(createdAt);
+            }
+            sql.append(" ON CONFLICT DO NOTHING");
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    /**
+     * Fans out, one announcement at a time, everything a group skipped while it was too large,
+     * then clears its mark unless an even newer announcement was skipped in the meantime.
+     */
+    private void catchUp(Long groupId) {
+        if (groupMembershipIndex.studentIds(groupId).length > maxFanoutGroupSize) return;
+        List<Timestamp> mergedUntil = jdbcTemplate.queryForList(
+                "SELECT timeline_merged_until FROM groups WHERE id = ? AND deleted_at IS NULL", Timestamp.class, groupId);
+        if (mergedUntil.isEmpty() || mergedUntil.get(0) == null) return;
+        Timestamp until = mergedUntil.get(0);
+        for (Long announcementId : jdbcTemplate.queryForList(
+                "SELECT id FROM announcements WHERE group_id = ? AND created_at <= ?", Long.class, groupId, until)) {
+            jdbcTemplate.update(FAN_OUT_TO_MEMBERS_SQL, announcementId);
+        }
+        jdbcTemplate.update("UPDATE groups SET timeline_merged_until = NULL WHERE id = ? AND timeline_merged_until = ?",
+                groupId, until);
+    }
+
+    public CursorPage<TimelineItem> getTimeline(Long studentId, PageCursor cursor, int size) {
+        int limit = CursorPage.fetchLimit(size).getPageSize();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentId", studentId)
+                .addValue("limit", limit);
+        if (cursor != null) {
+            params.addValue("createdAt", Timestamp.valueOf(cursor.getKeyAsDateTime()));
+            params.addValue("id", cursor.getId());
+        }
+
+        List<Row> rows = namedParameterJdbcTemplate.query(
+                String.format(FANNED_OUT_SQL, cursor == null ? "" : FANNED_OUT_SEEK), params, ROW_MAPPER);
+
+        List<Long> largeGroups = groupMembershipIndex.groupsWithMember(studentId, maxFanoutGroupSize);
+        if (!largeGroups.isEmpty()) {
+            params.addValue("groupIds", largeGroups);
+            rows = merge(rows, namedParameterJdbcTemplate.query(
+                    String.format(LARGE_GROUPS_SQL, cursor == null ? "" : LARGE_GROUPS_SEEK), params, ROW_MAPPER), limit);
+        }
+
+        Set<Long> authorIds = new HashSet<>();
+        rows.forEach(row -> authorIds.add(row.teacherId()));
+        authorIds.remove(null);
+        Map<Long, AuthorSummary> authors = authorSummaryCache.getAll(authorIds);
+
+        return CursorPage.of(rows, size, row -> PageCursor.encode(row.createdAt(), row.id()))
+                .map(row -> new TimelineItem(row.id(), row.groupId(), row.content(), row.createdAt(),
+                        activityCounters.count(Counter.ANNOUNCEMENT_COMMENTS, row.id(), row.commentCount()),
+                        author(authors, row.teacherId())));
+    }
+
+    /** Interleaves two newest-first pages into one of at most {@code limit} rows. */
+    static List<Row> merge(List<Row> fannedOut, List<Row> largeGroups, int limit) {
+        // A group that grew past the limit has both fanned-out and merged announcements
+        Map<Long, Row> unique = new LinkedHashMap<>();
+        fannedOut.forEach(row -> unique.putIfAbsent(row.id(), row));
+        largeGroups.forEach(row -> unique.putIfAbsent(row.id(), row));
+        List<Row> rows = new ArrayList<>(unique.values());
+        rows.sort(NEWEST_FIRST);
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    private static Map<String, Object> author(Map<Long, AuthorSummary> authors, Long teacherId) {
+        AuthorSummary summary = teacherId == null ? null : authors.get(teacherId);
+        return summary == null ? null : summary.asMap();
+    }
+}
@@ -0,0 +1,120 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.config.JwtUtil;
+import com.classHub.classHub.entity.RevokedToken;
+import com.classHub.classHub.repo.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every unexpired revocation in memory so the request filter can reject revoked
+ * tokens without a database round trip. The table is loaded at startup and then polled for
+ * rows added by other nodes.
+ */
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+    private final Map<Long, UserCutoff> userCutoffs = new ConcurrentHashMap<>();
+    private volatile long lastSeenId;
+
+    // Identity ids can commit out of order; re-reading a few already seen rows catches late commits
+    @Value("${auth.revocation.poll-overlap:100}")
+    private long pollOverlap;
+
+    @PostConstruct
+    void load() {
+        for (RevokedToken revoked : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            remember(revoked);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.poll-interval-ms:2000}")
+    public void pollNew() {
+        for (RevokedToken revoked : revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(Math.max(0, lastSeenId - pollOverlap))) {
+            remember(revoked);
+        }
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokenIds.containsKey(claims.getId())) return true;
+        Long userId = jwtUtil.extractUserId(claims);
+        if (userId == null || claims.getIssuedAt() == null) return false;
+        UserCutoff cutoff = userCutoffs.get(userId);
+        return cutoff != null && jwtUtil.extractIssuedAtMillis(claims) <= cutoff.revokedBefore;
+    }
+
+    /**
+     * Revokes a single token, e.g. on logout.
+     */
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null) return;
+        RevokedToken revoked = new RevokedToken();
+        revoked.setTokenId(claims.getId());
+        revoked.setUserId(jwtUtil.extractUserId(claims));
+        revoked.setExpiresAt(toLocal(claims.getExpiration().getTime()));
+        revokedTokenRepository.save(revoked);
+        AfterCommit.run(() -> remember(revoked));
+    }
+
+    /**
+     * Revokes every token the user holds right now, e.g. after a password change or deletion.
+     */
+    public void revokeAllForUser(Long userId) {
+        // Compared with the millisecond issue time, so a token issued right after this stays valid
+        long now = System.currentTimeMillis();
+        RevokedToken revoked = new RevokedToken();
+        revoked.setUserId(userId);
+        revoked.setRevokedBefore(toLocal(now));
+        revoked.setExpiresAt(toLocal(now + JwtUtil.TOKEN_VALIDITY_MS));
+        revokedTokenRepository.save(revoked);
+        AfterCommit.run(() -> remember(revoked));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt <= now);
+        userCutoffs.values().removeIf(cutoff -> cutoff.expiresAt <= now);
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    void remember(RevokedToken revoked) {
+        if (revoked.getId() != null && revoked.getId() > lastSeenId) lastSeenId = revoked.getId();
+        long expiresAt = toMillis(revoked.getExpiresAt());
+        if (revoked.getRevokedBefore() == null) {
+            revokedTokenIds.put(revoked.getTokenId(), expiresAt);
+            return;
+        }
+        UserCutoff cutoff = new UserCutoff(toMillis(revoked.getRevokedBefore()), expiresAt);
+        userCutoffs.merge(revoked.getUserId(), cutoff,
+            (current, next) -> next.revokedBefore >= current.revokedBefore ? next : current);
+    }
+
+    private static LocalDateTime toLocal(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record UserCutoff(long revokedBefore, long expiresAt) {
+    }
+}
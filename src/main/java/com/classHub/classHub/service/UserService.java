@@ -1,5 +1,6 @@
 package com.classHub.classHub.service;
 
+import com.classHub.classHub.entity.AccountPurgeJob;
 import com.classHub.classHub.entity.Role;
 import com.classHub.classHub.entity.User;
 import com.classHub.classHub.pojoRequest.PostUser;
@@ -10,12 +11,15 @@ public interface UserService {
 
     User registerUser(PostUser postUser);
     User getCurrentUser();
+    Long getCurrentUserId();
+    Role getCurrentUserRole();
     boolean isTeacher(User user);
     boolean isStudent(User user);
     List<User> getAllUsers();
-    void deleteUser(Long userId);
+    AccountPurgeJob deleteUser(Long userId);
     User updateUserProfile(PostUser postUser);
-    void deleteCurrentUser();
+    AccountPurgeJob deleteCurrentUser();
+    AccountPurgeJob getAccountPurgeJob(String jobId);
     List<User> findByRole(Role role);
     boolean existsByEmail(String email);
     User findById(Long id);
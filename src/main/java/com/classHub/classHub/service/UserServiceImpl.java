@@ -1,16 +1,13 @@
 package com.classHub.classHub.service;
 
+import com.classHub.classHub.config.TokenVersionRegistry;
+import com.classHub.classHub.entity.AccountPurgeJob;
+import com.classHub.classHub.entity.AuthenticatedUser;
 import com.classHub.classHub.entity.User;
-import com.classHub.classHub.entity.Group;
-import com.classHub.classHub.entity.Enrollment;
-import com.classHub.classHub.entity.Announcement;
-import com.classHub.classHub.entity.Comment;
+import com.classHub.classHub.exception.ForbiddenException;
 import com.classHub.classHub.pojoRequest.PostUser;
+import com.classHub.classHub.repo.AccountPurgeJobRepository;
 import com.classHub.classHub.repo.UserRepository;
-import com.classHub.classHub.repo.GroupRepository;
-import com.classHub.classHub.repo.EnrollmentRepository;
-import com.classHub.classHub.repo.AnnouncementRepository;
-import com.classHub.classHub.repo.CommentRepository;
 import com.classHub.classHub.entity.Role;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.Authentication;
@@ -18,30 +15,33 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 
 @Service
 public class UserServiceImpl implements UserService{
 
     private UserRepository userRepository;
-    private GroupRepository groupRepository;
-    private EnrollmentRepository enrollmentRepository;
-    private AnnouncementRepository announcementRepository;
-    private CommentRepository commentRepository;
+    private AccountPurgeJobRepository accountPurgeJobRepository;
     private PasswordEncoder passwordEncoder;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private AuthorSummaryCache authorSummaryCache;
+    private TokenRevocationService tokenRevocationService;
 
     public UserServiceImpl(UserRepository userRepository, 
-                          GroupRepository groupRepository,
-                          EnrollmentRepository enrollmentRepository,
-                          AnnouncementRepository announcementRepository,
-                          CommentRepository commentRepository,
-                          PasswordEncoder passwordEncoder) {
+                          AccountPurgeJobRepository accountPurgeJobRepository,
+                          PasswordEncoder passwordEncoder,
+                          TokenVersionRegistry tokenVersionRegistry,
+                          AuthorSummaryCache authorSummaryCache,
+                          TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
-        this.groupRepository = groupRepository;
-        this.enrollmentRepository = enrollmentRepository;
-        this.announcementRepository = announcementRepository;
-        this.commentRepository = commentRepository;
+        this.accountPurgeJobRepository = accountPurgeJobRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.authorSummaryCache = authorSummaryCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -69,18 +69,51 @@ public class UserServiceImpl implements UserService{
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) return null;
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            // Reference only: callers mostly need the id, fields load lazily if touched
+            return userRepository.getReferenceById(principal.getId());
+        }
         String email = authentication.getName();
         return userRepository.findByEmail(email);
     }
 
+    @Override
+    public Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) return null;
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) return principal.getId();
+        User user = userRepository.findByEmail(authentication.getName());
+        return user == null ? null : user.getId();
+    }
+
+    @Override
+    public Role getCurrentUserRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) return null;
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) return principal.getRole();
+        User user = userRepository.findByEmail(authentication.getName());
+        return user == null ? null : user.getRole();
+    }
+
     @Override
     public boolean isTeacher(User user) {
-        return user != null && user.getRole() != null && user.getRole().name().equals("TEACHER");
+        return roleOf(user) == Role.TEACHER;
     }
 
     @Override
     public boolean isStudent(User user) {
-        return user != null && user.getRole() != null && user.getRole().name().equals("STUDENT");
+        return roleOf(user) == Role.STUDENT;
+    }
+
+    // For the caller the role comes from the token, so the reference from getCurrentUser() stays uninitialized
+    private Role roleOf(User user) {
+        if (user == null) return null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                && principal.getId().equals(user.getId())) {
+            return principal.getRole();
+        }
+        return user.getRole();
     }
 
     @Override
@@ -90,122 +123,81 @@ public class UserServiceImpl implements UserService{
 
     @Override
     @Transactional
-    public void deleteUser(Long userId) {
+    public AccountPurgeJob deleteUser(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
         
-        // Delete all comments by this user first
-        List<Comment> userComments = commentRepository.findByUser(user);
-        for (Comment comment : userComments) {
-            commentRepository.delete(comment);
-        }
+        AccountPurgeJob pending = accountPurgeJobRepository.findFirstByUserIdAndPhaseNotIn(userId, AccountPurgeJob.FINISHED);
+        if (pending != null) return pending;
         
-        // Delete all announcements by this user (this will cascade to comments)
-        List<Announcement> userAnnouncements = announcementRepository.findByTeacher(user);
-        for (Announcement announcement : userAnnouncements) {
-            // Delete comments for this announcement first
-            List<Comment> announcementComments = commentRepository.findByAnnouncement(announcement);
-            for (Comment comment : announcementComments) {
-                commentRepository.delete(comment);
-            }
-            announcementRepository.delete(announcement);
-        }
+        // Disable the account right away: no new logins, and every issued token stops working
+        int version = (user.getTokenVersion() == null ? 0 : user.getTokenVersion()) + 1;
+        user.setDisabled(true);
+        user.setTokenVersion(version);
+        userRepository.save(user);
+        tokenRevocationService.revokeAllForUser(userId);
+        AfterCommit.run(() -> tokenVersionRegistry.update(userId, version));
         
-        // Delete all enrollments for this user
-        List<Enrollment> userEnrollments = enrollmentRepository.findByStudent(user);
-        for (Enrollment enrollment : userEnrollments) {
-            enrollmentRepository.delete(enrollment);
-        }
-        
-        // Delete all groups taught by this user (this will cascade to enrollments and announcements)
-        List<Group> userGroups = groupRepository.findByTeacher(user);
-        for (Group group : userGroups) {
-            // Delete all comments for announcements in this group first
-            List<Announcement> groupAnnouncements = announcementRepository.findByGroup(group);
-            for (Announcement announcement : groupAnnouncements) {
-                commentRepository.deleteByAnnouncement(announcement);
-            }
-            
-            // Delete all announcements for this group
-            announcementRepository.deleteByGroup(group);
-            
-            // Delete all enrollments for this group
-            enrollmentRepository.deleteByGroup(group);
-            
-            // Delete the group
-            groupRepository.delete(group);
-        }
-        
-        // Now delete the user
-        userRepository.delete(user);
+        // Comments, announcements, enrollments, groups and finally the user are removed by AccountPurgeWorker
+        AccountPurgeJob job = new AccountPurgeJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setUserId(userId);
+        job.setRequestedBy(getCurrentUserId());
+        job.setPhase(AccountPurgeJob.Phase.values()[0]);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        return accountPurgeJobRepository.save(job);
     }
 
     @Override
     @Transactional
     public User updateUserProfile(PostUser postUser) {
-        User currentUser = getCurrentUser();
-        if (currentUser == null) throw new RuntimeException("User not found");
+        Long currentUserId = getCurrentUserId();
+        if (currentUserId == null) throw new RuntimeException("User not found");
+        User currentUser = findById(currentUserId);
+        String previousEmail = currentUser.getEmail();
+        Role previousRole = currentUser.getRole();
         
         if (postUser.getFirstName() != null) currentUser.setFirstName(postUser.getFirstName());
         if (postUser.getLastName() != null) currentUser.setLastName(postUser.getLastName());
         if (postUser.getEmail() != null) currentUser.setEmail(postUser.getEmail());
         if (postUser.getBio() != null) currentUser.setBio(postUser.getBio());
-        if (postUser.getPassword() != null) currentUser.setPassword(passwordEncoder.encode(postUser.getPassword()));
+        if (postUser.getPassword() != null) {
+            currentUser.setPassword(passwordEncoder.encode(postUser.getPassword()));
+        }
         if (postUser.getRole() != null) currentUser.setRole(Role.valueOf(postUser.getRole().toUpperCase()));
         
+        // Email, role and password are what a token vouches for: changing any of them retires old tokens
+        if (postUser.getPassword() != null
+                || !Objects.equals(previousEmail, currentUser.getEmail())
+                || previousRole != currentUser.getRole()) {
+            int version = (currentUser.getTokenVersion() == null ? 0 : currentUser.getTokenVersion()) + 1;
+            currentUser.setTokenVersion(version);
+            // The version cache is per node; the revocation cutoff is what other nodes poll
+            tokenRevocationService.revokeAllForUser(currentUserId);
+            AfterCommit.run(() -> tokenVersionRegistry.update(currentUserId, version));
+        }
+        
+        AfterCommit.run(() -> authorSummaryCache.invalidate(currentUserId));
         return userRepository.save(currentUser);
     }
 
     @Override
     @Transactional
-    public void deleteCurrentUser() {
-        User currentUser = getCurrentUser();
-        if (currentUser == null) throw new RuntimeException("User not found");
-        
-        // Delete all comments by this user first
-        List<Comment> userComments = commentRepository.findByUser(currentUser);
-        for (Comment comment : userComments) {
-            commentRepository.delete(comment);
-        }
-        
-        // Delete all announcements by this user (this will cascade to comments)
-        List<Announcement> userAnnouncements = announcementRepository.findByTeacher(currentUser);
-        for (Announcement announcement : userAnnouncements) {
-            // Delete comments for this announcement first
-            List<Comment> announcementComments = commentRepository.findByAnnouncement(announcement);
-            for (Comment comment : announcementComments) {
-                commentRepository.delete(comment);
-            }
-            announcementRepository.delete(announcement);
-        }
-        
-        // Delete all enrollments for this user
-        List<Enrollment> userEnrollments = enrollmentRepository.findByStudent(currentUser);
-        for (Enrollment enrollment : userEnrollments) {
-            enrollmentRepository.delete(enrollment);
-        }
-        
-        // Delete all groups taught by this user (this will cascade to enrollments and announcements)
-        List<Group> userGroups = groupRepository.findByTeacher(currentUser);
-        for (Group group : userGroups) {
-            // Delete all comments for announcements in this group first
-            List<Announcement> groupAnnouncements = announcementRepository.findByGroup(group);
-            for (Announcement announcement : groupAnnouncements) {
-                commentRepository.deleteByAnnouncement(announcement);
-            }
-            
-            // Delete all announcements for this group
-            announcementRepository.deleteByGroup(group);
-            
-            // Delete all enrollments for this group
-            enrollmentRepository.deleteByGroup(group);
-            
-            // Delete the group
-            groupRepository.delete(group);
+    public AccountPurgeJob deleteCurrentUser() {
+        Long currentUserId = getCurrentUserId();
+        if (currentUserId == null) throw new RuntimeException("User not found");
+        return deleteUser(currentUserId);
+    }
+
+    @Override
+    public AccountPurgeJob getAccountPurgeJob(String jobId) {
+        AccountPurgeJob job = accountPurgeJobRepository.findById(jobId)
+            .orElseThrow(() -> new RuntimeException("Purge job not found"));
+        if (!Objects.equals(job.getRequestedBy(), getCurrentUserId())) {
+            throw new ForbiddenException("Only the requester can view this purge job");
         }
-        
-        // Now delete the user
-        userRepository.delete(currentUser);
+        return job;
     }
 
     @Override
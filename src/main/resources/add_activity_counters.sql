@@ -0,0 +1,10 @@
+-- Denormalized counters maintained by ActivityCounters
+-- Run this script manually in your database if needed; it also backfills existing rows
+
+ALTER TABLE groups ADD COLUMN IF NOT EXISTS member_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE groups ADD COLUMN IF NOT EXISTS announcement_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE announcements ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE groups g SET member_count = (SELECT COUNT(*) FROM enrollments e WHERE e.group_id = g.id);
+UPDATE groups g SET announcement_count = (SELECT COUNT(*) FROM announcements a WHERE a.group_id = g.id);
+UPDATE announcements a SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.announcement_id = a.id);
@@ -0,0 +1,15 @@
+-- Announcement attachments; file contents are stored on disk under their SHA-256
+-- Run this script manually in your database if needed
+
+CREATE TABLE IF NOT EXISTS attachments (
+    id BIGSERIAL PRIMARY KEY,
+    announcement_id BIGINT REFERENCES announcements(id),
+    sha256 VARCHAR(64) NOT NULL,
+    file_name VARCHAR(255),
+    content_type VARCHAR(255),
+    size BIGINT NOT NULL,
+    created_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_attachments_announcement ON attachments (announcement_id);
+CREATE INDEX IF NOT EXISTS idx_attachments_sha256 ON attachments (sha256);
@@ -0,0 +1,5 @@
+-- Supports the per-group "latest announcements" window used by the student dashboard
+-- Run this script manually in your database if needed
+
+CREATE INDEX IF NOT EXISTS idx_announcements_group_created ON announcements (group_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_enrollments_student_id ON enrollments (student_id);
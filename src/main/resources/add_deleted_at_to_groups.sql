@@ -0,0 +1,8 @@
+-- Tombstone column for asynchronous group deletion (GroupPurger removes the rows later)
+-- Run this script manually in your database if needed
+
+ALTER TABLE groups ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_groups_deleted_at ON groups (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_announcements_group_id ON announcements (group_id);
+CREATE INDEX IF NOT EXISTS idx_comments_announcement_id ON comments (announcement_id);
@@ -0,0 +1,8 @@
+-- Indexes matching the (sort key, id) seek predicates used by cursor pagination
+-- Run this script manually in your database if needed
+
+CREATE INDEX IF NOT EXISTS idx_groups_teacher_created ON groups (teacher_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comments_announcement_created ON comments (announcement_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comments_user_created ON comments (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_enrollments_group_student ON enrollments (group_id, student_id);
+CREATE INDEX IF NOT EXISTS idx_enrollments_group_seek ON enrollments (group_id, id);
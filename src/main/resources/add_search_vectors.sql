@@ -0,0 +1,15 @@
+-- Full-text search columns and indexes for announcements and comments
+-- Run this script manually in your database if needed
+-- Adding the generated columns rewrites both tables under an exclusive lock, so run it in a quiet period
+
+ALTER TABLE announcements ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_announcements_search ON announcements USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_comments_search ON comments USING GIN (search_vector);
+
+-- To rebuild the indexes from the table data without blocking writes:
+-- REINDEX INDEX CONCURRENTLY idx_announcements_search;
+-- REINDEX INDEX CONCURRENTLY idx_comments_search;
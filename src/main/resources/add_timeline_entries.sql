@@ -0,0 +1,17 @@
+-- Materialized student timelines written by the announcement fan-out worker
+-- Run this script manually in your database if needed
+
+CREATE TABLE IF NOT EXISTS timeline_entries (
+    student_id BIGINT NOT NULL,
+    announcement_id BIGINT NOT NULL,
+    group_id BIGINT,
+    created_at TIMESTAMP,
+    PRIMARY KEY (student_id, announcement_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_timeline_student_created ON timeline_entries (student_id, created_at DESC, announcement_id DESC);
+CREATE INDEX IF NOT EXISTS idx_timeline_announcement ON timeline_entries (announcement_id);
+CREATE INDEX IF NOT EXISTS idx_timeline_group ON timeline_entries (group_id);
+
+-- Newest announcement a group skipped while too large to fan out
+ALTER TABLE groups ADD COLUMN IF NOT EXISTS timeline_merged_until TIMESTAMP;
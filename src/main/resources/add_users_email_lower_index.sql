@@ -0,0 +1,4 @@
+-- Supports the case-insensitive email lookup used by roster imports
+-- Run this script manually in your database if needed
+
+CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email));
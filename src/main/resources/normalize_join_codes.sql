@@ -0,0 +1,4 @@
+-- Store join codes in canonical (upper-case) form so lookups can use the unique index on join_code
+-- Run this script manually in your database if needed
+
+UPDATE groups SET join_code = UPPER(join_code) WHERE join_code <> UPPER(join_code);
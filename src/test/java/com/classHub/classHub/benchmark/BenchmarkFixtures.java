@@ -0,0 +1,45 @@
+package com.classHub.classHub.benchmark;
+
+import com.classHub.classHub.config.JwtKeyRing;
+import com.classHub.classHub.config.JwtUtil;
+import com.classHub.classHub.config.VerifiedTokenCache;
+import com.classHub.classHub.entity.Role;
+import com.classHub.classHub.entity.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+/**
+ * Wires the auth components by hand so benchmarks run without a Spring context or database.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "classhub_secret_key_for_jwt_token_generation_and_validation";
+
+    private BenchmarkFixtures() {
+    }
+
+    static VerifiedTokenCache verifiedTokenCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 10_000);
+        return cache;
+    }
+
+    static JwtUtil jwtUtil(VerifiedTokenCache cache) throws IOException {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "keyRing", new JwtKeyRing("default:" + SECRET, "", "default", "default"));
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCache", cache);
+        return jwtUtil;
+    }
+
+    static User student() {
+        User user = new User();
+        user.setId(42L);
+        user.setFirstName("Ada");
+        user.setLastName("Lovelace");
+        user.setEmail("ada.lovelace@gmail.com");
+        user.setPassword("{unused}");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+}
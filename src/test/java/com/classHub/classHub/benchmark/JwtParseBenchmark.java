@@ -0,0 +1,51 @@
+package com.classHub.classHub.benchmark;
+
+import com.classHub.classHub.config.JwtKeyRing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parse cost with a parser built per call (the old JwtUtil) versus the parsers
+ * prebuilt per key id by JwtKeyRing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    private JwtKeyRing keyRing;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        keyRing = new JwtKeyRing("old:classhub_secret_key_for_jwt_token_generation_and_validation,"
+                + "new:classhub_rotated_secret_key_for_jwt_benchmark_runs_only", "", "new", "old");
+        token = Jwts.builder()
+                .setHeaderParam("kid", keyRing.activeKid())
+                .setSubject("student@gmail.com")
+                .claim("role", "STUDENT")
+                .claim("uid", 42L)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(10)))
+                .signWith(keyRing.signingKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims parserPerCall() {
+        return Jwts.parserBuilder().setSigningKey(keyRing.signingKey()).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims prebuiltParserByKid() {
+        return keyRing.parserFor(token).parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,79 @@
+package com.classHub.classHub.benchmark;
+
+import com.classHub.classHub.config.JwtRequestFilter;
+import com.classHub.classHub.config.JwtUtil;
+import com.classHub.classHub.config.TokenVersionRegistry;
+import com.classHub.classHub.entity.User;
+import com.classHub.classHub.entity.UserPrincipal;
+import com.classHub.classHub.repo.RevokedTokenRepository;
+import com.classHub.classHub.repo.UserRepository;
+import com.classHub.classHub.service.MyUserDetailsService;
+import com.classHub.classHub.service.TokenRevocationService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full JwtRequestFilter pass for an authenticated request. The user details service
+ * is a mock, so the stateful mode measures filter overhead rather than database latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean stateless;
+
+    private JwtRequestFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setup() throws Exception {
+        User user = BenchmarkFixtures.student();
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(BenchmarkFixtures.verifiedTokenCache());
+
+        MyUserDetailsService userDetailsService = Mockito.mock(MyUserDetailsService.class);
+        Mockito.when(userDetailsService.loadUserByUsername(user.getEmail())).thenReturn(new UserPrincipal(user));
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findTokenVersionById(user.getId())).thenReturn(Optional.of(0));
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry();
+        ReflectionTestUtils.setField(tokenVersionRegistry, "userRepository", userRepository);
+
+        TokenRevocationService tokenRevocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(tokenRevocationService, "revokedTokenRepository", Mockito.mock(RevokedTokenRepository.class));
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtUtil", jwtUtil);
+
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenVersionRegistry", tokenVersionRegistry);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+        ReflectionTestUtils.setField(filter, "statelessAuth", stateless);
+
+        authorization = "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/group/student/list");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
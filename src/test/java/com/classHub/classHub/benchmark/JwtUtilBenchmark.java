@@ -0,0 +1,60 @@
+package com.classHub.classHub.benchmark;
+
+import com.classHub.classHub.config.JwtUtil;
+import com.classHub.classHub.config.VerifiedTokenCache;
+import com.classHub.classHub.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification through JwtUtil, with and without the verified-claims cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private VerifiedTokenCache cache;
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        cache = BenchmarkFixtures.verifiedTokenCache();
+        jwtUtil = BenchmarkFixtures.jwtUtil(cache);
+        user = BenchmarkFixtures.student();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsernameCached() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        cache.clear();
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateTokenCached() {
+        return jwtUtil.validateToken(token, user.getEmail());
+    }
+
+    @Benchmark
+    public Boolean validateTokenUncached() {
+        cache.clear();
+        return jwtUtil.validateToken(token, user.getEmail());
+    }
+}
@@ -0,0 +1,82 @@
+package com.classHub.classHub.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    @Test
+    void allowsTheBurstThenLimits() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 3, 100);
+
+        for (int i = 0; i < 3; i++) assertThat(limiter.tryAcquire("ip")).isZero();
+
+        long wait = limiter.tryAcquire("ip");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(1_000_000_000L);
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 1, 100);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void rejectedAttemptsDoNotUseUpPermits() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 1, 100);
+        limiter.tryAcquire("a");
+
+        long first = limiter.tryAcquire("a");
+        long second = limiter.tryAcquire("a");
+
+        assertThat(second).isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void fullLimiterRejectsNewKeysAndNeverResetsTrackedOnes() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 1, 2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertThat(limiter.tryAcquire("c")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+        // The flood of new keys did not hand "a" a fresh burst
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void fullLimiterMakesRoomFromRefilledBuckets() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60_000, 1, 2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        Thread.sleep(5);
+
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictIdleKeepsBucketsThatHaveNotRefilled() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 5, 100);
+        limiter.tryAcquire("a");
+
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictIdleDropsRefilledBuckets() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60_000, 1, 100);
+        limiter.tryAcquire("a");
+        Thread.sleep(5);
+
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isZero();
+    }
+}
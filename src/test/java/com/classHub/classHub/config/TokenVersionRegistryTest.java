@@ -0,0 +1,52 @@
+package com.classHub.classHub.config;
+
+import com.classHub.classHub.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTest {
+
+    private UserRepository userRepository;
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        registry = new TokenVersionRegistry();
+        ReflectionTestUtils.setField(registry, "userRepository", userRepository);
+    }
+
+    @Test
+    void versionIsLoadedOnceAndThenServedFromMemory() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2));
+
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+        assertThat(registry.isCurrent(1L, 1)).isFalse();
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void newerTokenFromAnotherNodeRereadsTheVersion() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2), Optional.of(3));
+        registry.isCurrent(1L, 2);
+
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+        assertThat(registry.isCurrent(1L, 2)).isFalse();
+    }
+
+    @Test
+    void unknownUserIsRejected() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+    }
+}
@@ -0,0 +1,77 @@
+package com.classHub.classHub.pojoRequest;
+
+import com.classHub.classHub.pojoResponse.CursorPage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void emptyCursorMeansFirstPage() {
+        assertThat(PageCursor.parse(null)).isNull();
+        assertThat(PageCursor.parse("  ")).isNull();
+    }
+
+    @Test
+    void encodedCursorRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+
+        PageCursor cursor = PageCursor.parse(PageCursor.encode(createdAt, 42L));
+
+        assertThat(cursor.getId()).isEqualTo(42L);
+        assertThat(cursor.getKeyAsDateTime()).isEqualTo(createdAt);
+    }
+
+    @Test
+    void keyMayContainTheSeparator() {
+        PageCursor cursor = PageCursor.parse(PageCursor.encode("b:c", 7L));
+
+        assertThat(cursor.getId()).isEqualTo(7L);
+        assertThat(cursor.getKey()).isEqualTo("b:c");
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> PageCursor.parse("not base64!")).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> PageCursor.parse(base64("42"))).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> PageCursor.parse(base64("abc:key"))).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> PageCursor.parse(PageCursor.encode("yesterday", 1L)).getKeyAsDateTime())
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void pageFetchesOneExtraRowToDetectTheNextPage() {
+        assertThat(CursorPage.fetchLimit(20).getPageSize()).isEqualTo(21);
+        assertThatThrownBy(() -> CursorPage.fetchLimit(0)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> CursorPage.fetchLimit(CursorPage.MAX_SIZE + 1)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void nextCursorSeeksFromTheLastReturnedRow() {
+        CursorPage<Long> page = CursorPage.of(List.of(9L, 8L, 7L), 2, id -> PageCursor.encode("k" + id, id));
+
+        assertThat(page.getItems()).containsExactly(9L, 8L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PageCursor.parse(page.getNextCursor()).getId()).isEqualTo(8L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(9L, 8L), 2, id -> PageCursor.encode("k" + id, id));
+
+        assertThat(page.getItems()).containsExactly(9L, 8L);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
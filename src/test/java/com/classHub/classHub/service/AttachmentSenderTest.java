@@ -0,0 +1,44 @@
+package com.classHub.classHub.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttachmentSenderTest {
+
+    @Test
+    void closedRange() {
+        assertThat(AttachmentSender.parseRange("bytes=0-99", 1000)).containsExactly(0, 99);
+        assertThat(AttachmentSender.parseRange("bytes= 10 - 10 ", 1000)).containsExactly(10, 10);
+    }
+
+    @Test
+    void openRangeAndEndPastTheFileAreClampedToTheLastByte() {
+        assertThat(AttachmentSender.parseRange("bytes=900-", 1000)).containsExactly(900, 999);
+        assertThat(AttachmentSender.parseRange("bytes=900-5000", 1000)).containsExactly(900, 999);
+    }
+
+    @Test
+    void suffixRange() {
+        assertThat(AttachmentSender.parseRange("bytes=-100", 1000)).containsExactly(900, 999);
+        assertThat(AttachmentSender.parseRange("bytes=-5000", 1000)).containsExactly(0, 999);
+    }
+
+    @Test
+    void unsatisfiableRanges() {
+        assertThat(AttachmentSender.parseRange("bytes=1000-", 1000)).isEmpty();
+        assertThat(AttachmentSender.parseRange("bytes=-0", 1000)).isEmpty();
+        assertThat(AttachmentSender.parseRange("bytes=-10", 0)).isEmpty();
+    }
+
+    @Test
+    void malformedRangesAreIgnored() {
+        assertThat(AttachmentSender.parseRange("bytes=--5", 1000)).isNull();
+        assertThat(AttachmentSender.parseRange("bytes=5--3", 1000)).isNull();
+        assertThat(AttachmentSender.parseRange("bytes=20-10", 1000)).isNull();
+        assertThat(AttachmentSender.parseRange("bytes=-", 1000)).isNull();
+        assertThat(AttachmentSender.parseRange("bytes=abc", 1000)).isNull();
+        assertThat(AttachmentSender.parseRange("items=0-10", 1000)).isNull();
+        assertThat(AttachmentSender.parseRange("bytes=0-1,5-6", 1000)).isNull();
+    }
+}
@@ -0,0 +1,205 @@
+package com.classHub.classHub.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupEventDispatcherTest {
+
+    private static final Pattern ID = Pattern.compile("id:(\\d+)");
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private GroupEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = dispatcher(16, 3);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void subscribersReceivePublishedEvents() throws InterruptedException {
+        RecordingEmitter emitter = subscribe(1L, null);
+
+        dispatcher.publish(1L, "announcement", Map.of("id", 10));
+        dispatcher.publish(2L, "announcement", Map.of("id", 20));
+
+        assertThat(emitter.next()).contains("event:announcement").contains("10");
+        assertThat(emitter.next()).isNull();
+    }
+
+    @Test
+    void resumingReplaysOnlyLaterEvents() throws InterruptedException {
+        RecordingEmitter live = subscribe(1L, null);
+        dispatcher.publish(1L, "announcement", "first");
+        dispatcher.publish(1L, "announcement", "second");
+        long firstId = idOf(live.next());
+
+        RecordingEmitter resumed = subscribe(1L, firstId);
+
+        assertThat(resumed.next()).contains("second");
+        assertThat(resumed.next()).isNull();
+    }
+
+    @Test
+    void resumingPastTheReplayBufferSendsReset() throws InterruptedException {
+        RecordingEmitter live = subscribe(1L, null);
+        for (int i = 0; i < 5; i++) dispatcher.publish(1L, "announcement", "event " + i);
+        long firstId = idOf(live.next());
+
+        RecordingEmitter resumed = subscribe(1L, firstId);
+
+        assertThat(resumed.next()).contains("event:reset");
+        assertThat(resumed.next()).isNull();
+    }
+
+    @Test
+    void resumingFromBeforeTheChannelExistedSendsReset() throws InterruptedException {
+        RecordingEmitter resumed = subscribe(1L, 1L);
+
+        assertThat(resumed.next()).contains("event:reset");
+    }
+
+    @Test
+    void disconnectOnlyEndsTheGivenUsersStreams() throws InterruptedException {
+        RecordingEmitter removed = subscribe(1L, null, 5L);
+        RecordingEmitter other = subscribe(1L, null, 6L);
+
+        dispatcher.disconnect(1L, 5L);
+        dispatcher.publish(1L, "announcement", "after");
+
+        assertThat(other.next()).contains("after");
+        assertThat(removed.next()).isNull();
+    }
+
+    @Test
+    void heartbeatDropsIdleChannelsWithoutSubscribers() throws InterruptedException {
+        ReflectionTestUtils.setField(dispatcher, "channelIdleMs", 0L);
+        dispatcher.publish(1L, "announcement", "nobody listens");
+        RecordingEmitter listener = subscribe(2L, null);
+        Thread.sleep(2);
+
+        dispatcher.heartbeat();
+
+        assertThat(dispatcher.channelCount()).isEqualTo(1);
+        assertThat(listener.next()).contains("heartbeat");
+    }
+
+    @Test
+    void publishingAfterTheChannelWasDroppedStartsAFreshChannel() throws InterruptedException {
+        ReflectionTestUtils.setField(dispatcher, "channelIdleMs", 0L);
+        dispatcher.publish(1L, "announcement", "before");
+        Thread.sleep(2);
+        dispatcher.heartbeat();
+
+        dispatcher.publish(1L, "announcement", "after");
+        RecordingEmitter resumed = subscribe(1L, 1L);
+
+        assertThat(dispatcher.channelCount()).isEqualTo(1);
+        assertThat(resumed.next()).contains("event:reset");
+    }
+
+    @Test
+    void resumingWithTheDefaultsReplaysTheWholeBuffer() throws InterruptedException {
+        dispatcher.stop();
+        dispatcher = dispatcher(256, 256);
+        dispatcher.start();
+        long before = ((AtomicLong) ReflectionTestUtils.getField(dispatcher, "nextId")).get();
+        for (int i = 1; i <= 300; i++) dispatcher.publish(1L, "announcement", "event " + i);
+
+        // The oldest buffered event is number 45; resume right before it
+        RecordingEmitter resumed = subscribe(1L, before + 44);
+
+        for (int i = 45; i <= 300; i++) assertThat(resumed.next()).contains("event " + i + "\n");
+        dispatcher.publish(1L, "announcement", "live");
+        assertThat(resumed.next()).contains("live");
+    }
+
+    @Test
+    void replayLargerThanTheQueueSendsResetAndKeepsTheSubscriber() throws InterruptedException {
+        ReflectionTestUtils.setField(dispatcher, "replaySize", 32);
+        long before = ((AtomicLong) ReflectionTestUtils.getField(dispatcher, "nextId")).get();
+        for (int i = 0; i < 20; i++) dispatcher.publish(1L, "announcement", "event " + i);
+
+        RecordingEmitter resumed = subscribe(1L, before);
+
+        assertThat(resumed.next()).contains("event:reset");
+        dispatcher.publish(1L, "announcement", "live");
+        assertThat(resumed.next()).contains("live");
+    }
+
+    @Test
+    void replayBufferLargerThanTheQueueIsRejected() {
+        GroupEventDispatcher misconfigured = dispatcher(64, 256);
+
+        assertThatThrownBy(misconfigured::start).isInstanceOf(IllegalStateException.class);
+    }
+
+    private GroupEventDispatcher dispatcher(int queueCapacity, int replaySize) {
+        GroupEventDispatcher created = new GroupEventDispatcher() {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(created, "senderThreads", 1);
+        ReflectionTestUtils.setField(created, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(created, "replaySize", replaySize);
+        ReflectionTestUtils.setField(created, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(created, "channelIdleMs", 60_000L);
+        return created;
+    }
+
+    private RecordingEmitter subscribe(Long groupId, Long lastEventId) {
+        return subscribe(groupId, lastEventId, 99L);
+    }
+
+    private RecordingEmitter subscribe(Long groupId, Long lastEventId, Long userId) {
+        dispatcher.subscribe(groupId, userId, lastEventId);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private static long idOf(String event) {
+        Matcher matcher = ID.matcher(event);
+        assertThat(matcher.find()).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        String next() throws InterruptedException {
+            return sent.poll(1, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.exception.ForbiddenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupMembershipIndexTest {
+
+    private static final Long GROUP = 1L;
+    private static final Long TEACHER = 100L;
+
+    private JdbcTemplate jdbcTemplate;
+    private GroupMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        index = new GroupMembershipIndex();
+        ReflectionTestUtils.setField(index, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(index, "maxAgeMs", 60_000L);
+        index.addGroup(GROUP, TEACHER);
+    }
+
+    @Test
+    void membersAreKeptSortedAndDistinct() {
+        index.addMember(GROUP, 30L);
+        index.addMembers(GROUP, List.of(20L, 40L, 30L, 10L));
+        index.removeMember(GROUP, 40L);
+
+        assertThat(index.studentIds(GROUP)).containsExactly(10L, 20L, 30L);
+        assertThat(index.isMember(GROUP, 20L)).isTrue();
+        assertThat(index.isMember(GROUP, 40L)).isFalse();
+    }
+
+    @Test
+    void teacherAndMembersCanRead() {
+        index.addMember(GROUP, 10L);
+
+        assertThat(index.canRead(GROUP, TEACHER)).isTrue();
+        assertThat(index.canRead(GROUP, 10L)).isTrue();
+        assertThat(index.isTeacher(GROUP, 10L)).isFalse();
+        assertThat(index.canRead(GROUP, null)).isFalse();
+    }
+
+    @Test
+    void hitIsAnsweredWithoutTheDatabase() {
+        index.addMember(GROUP, 10L);
+
+        index.checkCanRead(GROUP, 10L);
+        index.checkTeacher(GROUP, TEACHER);
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    void missConfirmedByTheDatabaseIsForbidden() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(0);
+
+        assertThatThrownBy(() -> index.checkCanRead(GROUP, 10L)).isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> index.checkTeacher(GROUP, 10L)).isInstanceOf(ForbiddenException.class);
+    }
+
+    @Test
+    void memberAddedOnAnotherNodeIsAllowedAndLoaded() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(1);
+        stubGroup(TEACHER, List.of(10L, 11L));
+
+        index.checkCanRead(GROUP, 11L);
+
+        assertThat(index.studentIds(GROUP)).containsExactly(10L, 11L);
+    }
+
+    @Test
+    void expiredEntryIsReloaded() {
+        index.addMember(GROUP, 10L);
+        ReflectionTestUtils.setField(index, "maxAgeMs", 0L);
+        stubGroup(TEACHER, List.of(11L));
+
+        assertThat(index.isMember(GROUP, 10L)).isFalse();
+        assertThat(index.isMember(GROUP, 11L)).isTrue();
+    }
+
+    @Test
+    void groupDeletedOnAnotherNodeIsDroppedOnReload() {
+        ReflectionTestUtils.setField(index, "maxAgeMs", 0L);
+        when(jdbcTemplate.queryForList(startsWith("SELECT teacher_id"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of());
+
+        assertThat(index.canRead(GROUP, TEACHER)).isFalse();
+        assertThat(index.studentIds(GROUP)).isEmpty();
+    }
+
+    @Test
+    void groupsWithMemberOnlyListsGroupsAboveTheSize() {
+        index.addMembers(GROUP, List.of(10L, 11L, 12L));
+        index.addGroup(2L, TEACHER);
+        index.addMember(2L, 10L);
+
+        assertThat(index.groupsWithMember(10L, 2)).containsExactly(GROUP);
+        assertThat(index.groupsWithMember(10L, 0)).containsExactlyInAnyOrder(GROUP, 2L);
+    }
+
+    private void stubGroup(Long teacherId, List<Long> studentIds) {
+        when(jdbcTemplate.queryForList(startsWith("SELECT teacher_id"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(teacherId));
+        when(jdbcTemplate.queryForList(startsWith("SELECT student_id"), eq(Long.class), any(Object[].class)))
+                .thenReturn(studentIds);
+    }
+}
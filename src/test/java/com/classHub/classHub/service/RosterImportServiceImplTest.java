@@ -0,0 +1,100 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.pojoRequest.AuthRequest;
+import com.classHub.classHub.pojoResponse.RosterImportResult;
+import com.classHub.classHub.pojoResponse.RosterImportResult.Status;
+import com.classHub.classHub.service.RosterImportServiceImpl.ExistingUser;
+import com.classHub.classHub.service.RosterImportServiceImpl.PendingRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RosterImportServiceImplTest {
+
+    @Test
+    void normalizeLowerCasesIndependentlyOfTheDefaultLocale() {
+        assertThat(RosterImportServiceImpl.normalize("Ada.LOVELACE@Example.COM")).isEqualTo("ada.lovelace@example.com");
+        assertThat(RosterImportServiceImpl.normalize("TITLE@I.EDU")).isEqualTo("title@i.edu");
+    }
+
+    @Test
+    void onlyActiveStudentsAreEnrollable() {
+        assertThat(new ExistingUser(1, true, false).isEnrollable()).isTrue();
+        assertThat(new ExistingUser(2, false, false).isEnrollable()).isFalse();
+        assertThat(new ExistingUser(3, true, true).isEnrollable()).isFalse();
+    }
+
+    @Test
+    void createdAccountIsMatchedCaseInsensitively() {
+        RosterImportResult.Row row = RosterImportServiceImpl.outcome(row("New.Student@Example.com"),
+                Map.of("new.student@example.com", 10L), Map.of(), Set.of(10L), true);
+
+        assertThat(row.getStatus()).isEqualTo(Status.CREATED);
+        assertThat(row.isEnrolled()).isTrue();
+        assertThat(row.getEmail()).isEqualTo("New.Student@Example.com");
+    }
+
+    @Test
+    void existingStudentIsReportedAsExistingAndEnrolled() {
+        RosterImportResult.Row row = RosterImportServiceImpl.outcome(row("STUDENT@example.com"),
+                Map.of(), Map.of("student@example.com", new ExistingUser(20, true, false)), Set.of(20L), true);
+
+        assertThat(row.getStatus()).isEqualTo(Status.EXISTS);
+        assertThat(row.isEnrolled()).isTrue();
+    }
+
+    @Test
+    void existingTeacherOrDisabledAccountIsSkippedWhenEnrolling() {
+        Map<String, ExistingUser> existing = Map.of(
+                "teacher@example.com", new ExistingUser(30, false, false),
+                "disabled@example.com", new ExistingUser(31, true, true));
+
+        RosterImportResult.Row teacher = RosterImportServiceImpl.outcome(row("teacher@example.com"),
+                Map.of(), existing, Set.of(), true);
+        RosterImportResult.Row disabled = RosterImportServiceImpl.outcome(row("disabled@example.com"),
+                Map.of(), existing, Set.of(), true);
+
+        assertThat(teacher.getStatus()).isEqualTo(Status.SKIPPED);
+        assertThat(teacher.isEnrolled()).isFalse();
+        assertThat(disabled.getStatus()).isEqualTo(Status.SKIPPED);
+    }
+
+    @Test
+    void existingTeacherIsOnlyReportedWhenNotEnrolling() {
+        RosterImportResult.Row row = RosterImportServiceImpl.outcome(row("teacher@example.com"),
+                Map.of(), Map.of("teacher@example.com", new ExistingUser(30, false, false)), Set.of(), false);
+
+        assertThat(row.getStatus()).isEqualTo(Status.EXISTS);
+        assertThat(row.isEnrolled()).isFalse();
+    }
+
+    @Test
+    void rowThatWasNeitherCreatedNorFoundIsInvalid() {
+        RosterImportResult.Row row = RosterImportServiceImpl.outcome(row("lost@example.com"),
+                Map.of(), Map.of(), Set.of(), true);
+
+        assertThat(row.getStatus()).isEqualTo(Status.INVALID);
+    }
+
+    @Test
+    void resultCountsSkippedRowsSeparately() {
+        RosterImportResult result = new RosterImportResult();
+        result.add(new RosterImportResult.Row(1, "a@example.com", Status.CREATED, true, null));
+        result.add(new RosterImportResult.Row(2, "b@example.com", Status.SKIPPED, false, null));
+        result.add(new RosterImportResult.Row(3, "c@example.com", Status.INVALID, false, null));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getEnrolled()).isEqualTo(1);
+    }
+
+    private static PendingRow row(String email) {
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        return new PendingRow(1, request);
+    }
+}
@@ -0,0 +1,50 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.service.TimelineService.Row;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimelineServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Test
+    void mergesBothSourcesNewestFirst() {
+        List<Row> merged = TimelineService.merge(
+                List.of(row(5, 50), row(3, 30)),
+                List.of(row(4, 40), row(1, 10)), 10);
+
+        assertThat(merged).extracting(Row::id).containsExactly(5L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void sameTimestampIsOrderedByIdDescending() {
+        List<Row> merged = TimelineService.merge(List.of(row(2, 10)), List.of(row(7, 10)), 10);
+
+        assertThat(merged).extracting(Row::id).containsExactly(7L, 2L);
+    }
+
+    @Test
+    void announcementInBothSourcesAppearsOnce() {
+        List<Row> merged = TimelineService.merge(List.of(row(5, 50), row(3, 30)), List.of(row(5, 50)), 10);
+
+        assertThat(merged).extracting(Row::id).containsExactly(5L, 3L);
+    }
+
+    @Test
+    void resultIsCutToTheFetchLimit() {
+        List<Row> merged = TimelineService.merge(
+                List.of(row(6, 60), row(4, 40), row(2, 20)),
+                List.of(row(5, 50), row(3, 30)), 3);
+
+        assertThat(merged).extracting(Row::id).containsExactly(6L, 5L, 4L);
+    }
+
+    private static Row row(long id, int minutes) {
+        return new Row(id, 1L, "announcement " + id, NOW.plusMinutes(minutes), 100L, 0);
+    }
+}
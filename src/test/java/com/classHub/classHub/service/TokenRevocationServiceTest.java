@@ -0,0 +1,142 @@
+package com.classHub.classHub.service;
+
+import com.classHub.classHub.config.JwtUtil;
+import com.classHub.classHub.entity.RevokedToken;
+import com.classHub.classHub.repo.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private static final long USER_ID = 7L;
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        service = new TokenRevocationService();
+        ReflectionTestUtils.setField(service, "revokedTokenRepository", repository);
+        ReflectionTestUtils.setField(service, "jwtUtil", new JwtUtil());
+        ReflectionTestUtils.setField(service, "pollOverlap", 100L);
+    }
+
+    @Test
+    void revokeAllRejectsTokensIssuedUpToTheCutoff() {
+        Claims before = token("a", System.currentTimeMillis() - 1);
+
+        service.revokeAllForUser(USER_ID);
+        Claims after = token("b", System.currentTimeMillis() + 1);
+
+        assertThat(service.isRevoked(before)).isTrue();
+        assertThat(service.isRevoked(after)).isFalse();
+    }
+
+    @Test
+    void tokenIssuedLaterInTheSameSecondStaysValid() {
+        long revokedAt = secondStart(System.currentTimeMillis()) + 100;
+        service.remember(cutoff(1L, revokedAt));
+
+        assertThat(service.isRevoked(token("a", revokedAt - 50))).isTrue();
+        assertThat(service.isRevoked(token("b", revokedAt))).isTrue();
+        assertThat(service.isRevoked(token("c", revokedAt + 50))).isFalse();
+    }
+
+    @Test
+    void tokenWithoutMillisecondClaimCountsFromTheStartOfItsSecond() {
+        long revokedAt = secondStart(System.currentTimeMillis()) + 500;
+        service.remember(cutoff(1L, revokedAt));
+
+        Claims legacy = Jwts.claims();
+        legacy.put("uid", USER_ID);
+        legacy.setIssuedAt(new Date(revokedAt + 200));
+
+        assertThat(service.isRevoked(legacy)).isTrue();
+    }
+
+    @Test
+    void laterCutoffWinsRegardlessOfArrivalOrder() {
+        long now = System.currentTimeMillis();
+        service.remember(cutoff(2L, now));
+        service.remember(cutoff(1L, now - 10_000));
+
+        assertThat(service.isRevoked(token("a", now - 5_000))).isTrue();
+    }
+
+    @Test
+    void singleTokenRevocationOnlyAffectsThatToken() {
+        Claims revoked = token("revoked", System.currentTimeMillis());
+        Claims other = token("other", System.currentTimeMillis());
+
+        service.revokeToken(revoked);
+
+        assertThat(service.isRevoked(revoked)).isTrue();
+        assertThat(service.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    void pollingPicksUpOtherNodesAndRereadsTheOverlap() {
+        long now = System.currentTimeMillis();
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L)).thenReturn(List.of(cutoff(500L, now)));
+
+        service.pollNew();
+        service.pollNew();
+
+        assertThat(service.isRevoked(token("a", now - 1))).isTrue();
+        verify(repository).findByIdGreaterThanOrderByIdAsc(400L);
+    }
+
+    @Test
+    void purgeForgetsExpiredCutoffs() {
+        long now = System.currentTimeMillis();
+        RevokedToken expired = cutoff(1L, now);
+        expired.setExpiresAt(local(now - 1));
+        service.remember(expired);
+
+        service.purgeExpired();
+
+        assertThat(service.isRevoked(token("a", now - 1_000))).isFalse();
+    }
+
+    private static Claims token(String id, long issuedAtMillis) {
+        Claims claims = Jwts.claims();
+        claims.setId(id);
+        claims.put("uid", USER_ID);
+        claims.put("iat_ms", issuedAtMillis);
+        claims.setIssuedAt(new Date(issuedAtMillis));
+        claims.setExpiration(new Date(issuedAtMillis + JwtUtil.TOKEN_VALIDITY_MS));
+        return claims;
+    }
+
+    private static RevokedToken cutoff(Long id, long revokedBeforeMillis) {
+        RevokedToken revoked = new RevokedToken();
+        revoked.setId(id);
+        revoked.setUserId(USER_ID);
+        revoked.setRevokedBefore(local(revokedBeforeMillis));
+        revoked.setExpiresAt(local(revokedBeforeMillis + JwtUtil.TOKEN_VALIDITY_MS));
+        return revoked;
+    }
+
+    private static LocalDateTime local(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long secondStart(long millis) {
+        return millis - millis % 1000;
+    }
+}